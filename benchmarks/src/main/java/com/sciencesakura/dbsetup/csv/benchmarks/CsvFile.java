@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv.benchmarks;
+
+import com.sciencesakura.dbsetup.csv.Import;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A generated CSV file to import.
+ *
+ * <p>Each value mixes ASCII and Japanese characters so that the charset affects the decoding cost.</p>
+ */
+@State(Scope.Benchmark)
+public class CsvFile {
+
+  static final String TABLE = "bench";
+
+  /**
+   * The number of rows.
+   */
+  @Param({"1000", "100000"})
+  public int rows;
+
+  /**
+   * The number of columns.
+   */
+  @Param({"5", "20"})
+  public int columns;
+
+  /**
+   * The encoding of the file.
+   */
+  @Param({"UTF-8", "UTF-16", "windows-31j"})
+  public String charset;
+
+  /**
+   * {@code csv} or {@code tsv}.
+   */
+  @Param({"csv", "tsv"})
+  public String format;
+
+  private Path file;
+
+  /**
+   * Generates the file.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @Setup
+  public void setUp() throws IOException {
+    var delimiter = format.equals("tsv") ? "\t" : ",";
+    file = Files.createTempFile("dbsetup-csv-", "." + format);
+    try (var writer = Files.newBufferedWriter(file, Charset.forName(charset))) {
+      writer.write(IntStream.range(0, columns).mapToObj(c -> "c" + c).collect(Collectors.joining(delimiter)));
+      writer.newLine();
+      for (var r = 0; r < rows; r++) {
+        for (var c = 0; c < columns; c++) {
+          if (c != 0) {
+            writer.write(delimiter);
+          }
+          writer.write(c % 2 == 0 ? "value-" + r : "値" + r + "番");
+        }
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Deletes the file.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Returns a builder of the operation to import this file.
+   *
+   * @return a new builder
+   */
+  public Import.Builder importer() {
+    var builder = format.equals("tsv") ? Import.tsv(file) : Import.csv(file);
+    return builder.into(TABLE).withCharset(charset);
+  }
+
+  /**
+   * Returns the DDL to create the table to import this file.
+   *
+   * @return the {@code CREATE TABLE} statement
+   */
+  public String ddl() {
+    return IntStream.range(0, columns).mapToObj(c -> "c" + c + " varchar(32)")
+        .collect(Collectors.joining(", ", "create table " + TABLE + " (", ")"));
+  }
+}
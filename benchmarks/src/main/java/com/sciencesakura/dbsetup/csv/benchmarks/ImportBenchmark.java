@@ -0,0 +1,185 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv.benchmarks;
+
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.sciencesakura.dbsetup.csv.Import;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+
+/**
+ * Measures the cost of building and executing the {@link Import} operation.
+ *
+ * <p>The {@code rows} secondary result is the throughput in rows per second and the {@code bytesPerRow} secondary
+ * result is the memory allocated by the benchmark thread per imported row.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImportBenchmark {
+
+  /**
+   * Counts the imported rows.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class RowCounter {
+
+    /**
+     * The number of rows processed so far.
+     */
+    public long rows;
+  }
+
+  /**
+   * Measures the memory allocated by the benchmark thread per imported row in each iteration.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Allocation {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * The number of bytes allocated per row in the last iteration, divided by the number of iterations.
+     *
+     * <p>JMH aggregates an event counter by summing its value at the end of each measurement iteration, and offers
+     * no per-iteration mean for this counter type. Since every measurement iteration stores its own value here,
+     * dividing by the number of measurement iterations makes that sum the mean of the iterations. The values shown
+     * for the individual iterations, including the warmup ones, are scaled by the same factor.</p>
+     */
+    public double bytesPerRow;
+
+    private long start;
+
+    private long rows;
+
+    private int iterations;
+
+    /**
+     * Starts counting the allocation of the benchmark thread.
+     *
+     * @param params the parameters of the iteration
+     */
+    @Setup(Level.Iteration)
+    public void start(IterationParams params) {
+      iterations = params.getCount();
+      rows = 0;
+      start = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Stores the allocation per row of the iteration.
+     */
+    @TearDown(Level.Iteration)
+    public void stop() {
+      var allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+      bytesPerRow = rows == 0 ? 0 : (double) allocated / rows / iterations;
+    }
+
+    void add(long rows) {
+      this.rows += rows;
+    }
+  }
+
+  /**
+   * An in-memory H2 database and the operation to execute.
+   */
+  @State(Scope.Thread)
+  public static class Database {
+
+    private Connection connection;
+
+    private Import operation;
+
+    /**
+     * Creates the database and the table, and builds the operation.
+     *
+     * @param file the file to import
+     * @throws SQLException if a database access error occurs
+     */
+    @Setup
+    public void setUp(CsvFile file) throws SQLException {
+      connection = DriverManager.getConnection("jdbc:h2:mem:");
+      try (var stmt = connection.createStatement()) {
+        stmt.execute(file.ddl());
+      }
+      operation = file.importer().build();
+    }
+
+    /**
+     * Empties the table before each import.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+      try (var stmt = connection.createStatement()) {
+        stmt.execute("truncate table " + CsvFile.TABLE);
+      }
+    }
+
+    /**
+     * Closes the database.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    @TearDown
+    public void tearDown() throws SQLException {
+      connection.close();
+    }
+  }
+
+  /**
+   * Builds the operation, which reads and parses the file.
+   *
+   * @param file       the file to import
+   * @param counter    the counter of the imported rows
+   * @param allocation the allocation counter
+   * @return the operation
+   */
+  @Benchmark
+  public Import build(CsvFile file, RowCounter counter, Allocation allocation) {
+    var operation = file.importer().build();
+    counter.rows += file.rows;
+    allocation.add(file.rows);
+    return operation;
+  }
+
+  /**
+   * Executes the operation built in advance, which inserts the rows.
+   *
+   * @param file       the file to import
+   * @param database   the database to import into
+   * @param counter    the counter of the imported rows
+   * @param allocation the allocation counter
+   * @throws SQLException if a database access error occurs
+   */
+  @Benchmark
+  public void execute(CsvFile file, Database database, RowCounter counter, Allocation allocation)
+      throws SQLException {
+    database.operation.execute(database.connection, DefaultBinderConfiguration.INSTANCE);
+    counter.rows += file.rows;
+    allocation.add(file.rows);
+  }
+}
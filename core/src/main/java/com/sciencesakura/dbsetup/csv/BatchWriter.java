@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RowWriter} which sends rows with JDBC batch execution.
+ *
+ * <p>The values are bound with the binders given by the {@link BinderConfiguration}, in the same way as DbSetup's
+ * {@code Insert} operation does.</p>
+ */
+final class BatchWriter implements RowWriter {
+
+  private final PreparedStatement statement;
+
+  private final Binder[] binders;
+
+  private final int batchSize;
+
+  private int count;
+
+  private long batches;
+
+  BatchWriter(Connection connection, BinderCache.@Nullable Scope scope, BinderConfiguration configuration, String table,
+              List<String> columns, int batchSize) throws SQLException {
+    statement = connection.prepareStatement(Statements.insertSql(table, columns, 1));
+    try {
+      binders = BinderCache.get(scope, statement, table, columns, configuration);
+    } catch (SQLException | RuntimeException e) {
+      statement.close();
+      throw e;
+    }
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void write(Object[] values) throws SQLException {
+    Statements.bind(statement, binders, 0, values);
+    statement.addBatch();
+    if (++count == batchSize) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    if (count == 0) {
+      return;
+    }
+    count = 0;
+    statement.executeBatch();
+    batches++;
+  }
+
+  @Override
+  public long batches() {
+    return batches;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    statement.close();
+  }
+}
@@ -0,0 +1,208 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A process-wide cache of the binders resolved from the parameter metadata of the {@code INSERT} statements.
+ *
+ * <p>The binders are keyed by the URL of the database, the current schema, the table name, the column names
+ * and the binder configuration, so that the {@code Import} operations executed repeatedly against the same table
+ * do not query the parameter metadata again.</p>
+ *
+ * <p>The number of cached entries is bounded by {@link #setMaxSize(int)} (256 by default); when the bound is
+ * exceeded, the least recently used entries are evicted. Nothing is cached for the databases whose URL does not
+ * identify a single database, such as H2's unnamed in-memory database ({@code jdbc:h2:mem:}), which is private to
+ * each connection.</p>
+ *
+ * <p>The cached binders become stale when the types of the columns are changed. Call {@link #clear()} after
+ * executing such DDL statements.</p>
+ *
+ * @author sciencesakura
+ */
+public final class BinderCache {
+
+  private static final int DEFAULT_MAX_SIZE = 256;
+
+  private static final Pattern PRIVATE_URL = Pattern.compile("jdbc:(h2:mem:|sqlite:(:memory:)?)(;.*)?");
+
+  private static final Object LOCK = new Object();
+
+  private static final Map<Key, Binder[]> BINDERS = new LinkedHashMap<>(16, 0.75f, true);
+
+  private static int maxSize = DEFAULT_MAX_SIZE;
+
+  private BinderCache() {
+  }
+
+  /**
+   * Specifies the maximum number of cached entries, each of which holds the binders of a column list of a table.
+   *
+   * @param maxSize the maximum number of entries, {@code 0} disables caching
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   */
+  public static void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxSize must not be negative");
+    }
+    synchronized (LOCK) {
+      BinderCache.maxSize = maxSize;
+      evict();
+    }
+  }
+
+  /**
+   * Discards all cached binders.
+   */
+  public static void clear() {
+    synchronized (LOCK) {
+      BINDERS.clear();
+    }
+  }
+
+  /**
+   * Returns the scope of the cache entries for the given connection: the database and the schema against which
+   * unqualified table names are resolved.
+   *
+   * <p>The scope is resolved once per operation rather than once per lookup, since reading the current schema may
+   * be a round trip to the database.</p>
+   *
+   * @param connection the connection
+   * @return the scope, or {@code null} if nothing is cached for the database of the connection
+   * @throws SQLException if a database access error occurs
+   */
+  @Nullable
+  static Scope scope(Connection connection) throws SQLException {
+    var url = connection.getMetaData().getURL();
+    if (url == null || PRIVATE_URL.matcher(url).matches()) {
+      return null;
+    }
+    return new Scope(url, connection.getSchema());
+  }
+
+  /**
+   * Returns the cached binders of the given columns, resolving them from the parameter metadata of the given
+   * statement if they are not cached.
+   *
+   * @param scope         the scope returned by {@link #scope(Connection)}, {@code null} to bypass the cache
+   * @param statement     the statement whose first parameters are the given columns
+   * @param table         the table name
+   * @param columns       the column names
+   * @param configuration the binder configuration
+   * @return the binders
+   * @throws SQLException if a database access error occurs
+   */
+  static Binder[] get(@Nullable Scope scope, PreparedStatement statement, String table, List<String> columns,
+                      BinderConfiguration configuration) throws SQLException {
+    if (scope == null) {
+      return Statements.binders(statement, columns.size(), configuration);
+    }
+    var key = new Key(scope, table, columns, configuration);
+    Binder[] binders;
+    synchronized (LOCK) {
+      binders = BINDERS.get(key);
+    }
+    if (binders == null) {
+      binders = Statements.binders(statement, columns.size(), configuration);
+      synchronized (LOCK) {
+        BINDERS.put(key, binders);
+        evict();
+      }
+    }
+    return binders;
+  }
+
+  static int size() {
+    synchronized (LOCK) {
+      return BINDERS.size();
+    }
+  }
+
+  private static void evict() {
+    var iterator = BINDERS.keySet().iterator();
+    while (BINDERS.size() > maxSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * The database and the schema against which unqualified table names are resolved.
+   */
+  static final class Scope {
+
+    private final String url;
+
+    @Nullable
+    private final String schema;
+
+    private Scope(String url, @Nullable String schema) {
+      this.url = url;
+      this.schema = schema;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Scope)) {
+        return false;
+      }
+      var other = (Scope) obj;
+      return url.equals(other.url) && Objects.equals(schema, other.schema);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, schema);
+    }
+  }
+
+  private static final class Key {
+
+    private final Scope scope;
+
+    private final String table;
+
+    private final List<String> columns;
+
+    private final BinderConfiguration configuration;
+
+    Key(Scope scope, String table, List<String> columns, BinderConfiguration configuration) {
+      this.scope = scope;
+      this.table = table;
+      this.columns = List.copyOf(columns);
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      var other = (Key) obj;
+      return scope.equals(other.scope) && table.equals(other.table) && columns.equals(other.columns)
+          && configuration.equals(other.configuration);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(scope, table, columns, configuration);
+    }
+  }
+}
@@ -0,0 +1,125 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A CSV file to load with a {@link BulkLoader} and its format.
+ *
+ * @author sciencesakura
+ */
+public final class BulkLoadRequest {
+
+  private final String table;
+
+  private final Path file;
+
+  private final Charset charset;
+
+  private final char delimiter;
+
+  private final char quote;
+
+  private final String nullString;
+
+  private final List<String> columns;
+
+  private final boolean headerRecord;
+
+  BulkLoadRequest(String table, Path file, Charset charset, char delimiter, char quote, String nullString,
+                  List<String> columns, boolean headerRecord) {
+    this.table = table;
+    this.file = file;
+    this.charset = charset;
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.nullString = nullString;
+    this.columns = List.copyOf(columns);
+    this.headerRecord = headerRecord;
+  }
+
+  /**
+   * Returns a copy of this request which loads the CSV file into the given table.
+   *
+   * @param table the table name
+   * @return the new request
+   */
+  BulkLoadRequest withTable(String table) {
+    return new BulkLoadRequest(table, file, charset, delimiter, quote, nullString, columns, headerRecord);
+  }
+
+  /**
+   * Returns the table name to load the CSV file into.
+   *
+   * @return the table name
+   */
+  public String table() {
+    return table;
+  }
+
+  /**
+   * Returns the uncompressed CSV file.
+   *
+   * @return the CSV file
+   */
+  public Path file() {
+    return file;
+  }
+
+  /**
+   * Returns the encoding of the CSV file.
+   *
+   * @return the encoding
+   */
+  public Charset charset() {
+    return charset;
+  }
+
+  /**
+   * Returns the delimiter of the CSV file.
+   *
+   * @return the delimiter
+   */
+  public char delimiter() {
+    return delimiter;
+  }
+
+  /**
+   * Returns the quotation mark of the CSV file. A quotation mark in a quoted value is escaped by doubling it.
+   *
+   * @return the quotation mark
+   */
+  public char quote() {
+    return quote;
+  }
+
+  /**
+   * Returns the string which represents null values in the CSV file.
+   *
+   * @return the null string
+   */
+  public String nullString() {
+    return nullString;
+  }
+
+  /**
+   * Returns the column names, in the order of the CSV file.
+   *
+   * @return the column names
+   */
+  public List<String> columns() {
+    return columns;
+  }
+
+  /**
+   * Returns whether the first row of the CSV file is the header, which must not be loaded.
+   *
+   * @return {@code true} if the first row is the header
+   */
+  public boolean hasHeaderRecord() {
+    return headerRecord;
+  }
+}
@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * A service provider which loads a CSV file with the native bulk-load facility of a database.
+ *
+ * <p>When {@link Import.Builder#bulkLoad()} is specified, the {@code Import} operation asks the bulk loaders
+ * registered with {@link java.util.ServiceLoader} and then the built-in ones (currently for H2) whether they
+ * support the database and the CSV file. The first one which supports them loads the file. If none supports them,
+ * the rows are inserted with JDBC batch execution.</p>
+ *
+ * <p>A bulk loader must load the file in the same way as the {@code Import} operation reads it: the values are
+ * trimmed and a value equal to {@link BulkLoadRequest#nullString() the null string} is loaded as null.</p>
+ *
+ * @author sciencesakura
+ */
+public interface BulkLoader {
+
+  /**
+   * Returns whether this loader can load the given CSV file into the given database.
+   *
+   * @param metaData the metadata of the database
+   * @param request  the CSV file and its format
+   * @return {@code true} if this loader can load the CSV file
+   * @throws SQLException if a database access error occurs
+   */
+  boolean supports(DatabaseMetaData metaData, BulkLoadRequest request) throws SQLException;
+
+  /**
+   * Loads the given CSV file.
+   *
+   * @param connection the connection to the database
+   * @param request    the CSV file and its format
+   * @return the number of rows loaded
+   * @throws SQLException if a database access error occurs
+   */
+  long load(Connection connection, BulkLoadRequest request) throws SQLException;
+}
@@ -0,0 +1,48 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The registry of the {@link BulkLoader}s: the ones registered with {@link ServiceLoader} followed by
+ * the built-in ones.
+ */
+final class BulkLoaders {
+
+  private static final List<BulkLoader> LOADERS = load();
+
+  private BulkLoaders() {
+  }
+
+  /**
+   * Returns the first bulk loader which supports the given database and CSV file.
+   *
+   * @param metaData the metadata of the database
+   * @param request  the CSV file and its format
+   * @return the bulk loader, or {@code null} if none supports them
+   * @throws SQLException if a database access error occurs
+   */
+  @Nullable
+  static BulkLoader find(DatabaseMetaData metaData, BulkLoadRequest request) throws SQLException {
+    for (var loader : LOADERS) {
+      if (loader.supports(metaData, request)) {
+        return loader;
+      }
+    }
+    return null;
+  }
+
+  private static List<BulkLoader> load() {
+    var loaders = new ArrayList<BulkLoader>();
+    ServiceLoader.load(BulkLoader.class, BulkLoader.class.getClassLoader()).forEach(loaders::add);
+    loaders.add(new H2BulkLoader());
+    return Collections.unmodifiableList(loaders);
+  }
+}
@@ -0,0 +1,283 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Converts the string values read from the CSV file into the Java types of the columns.
+ *
+ * <p>The converters are resolved once per column, and only {@code String} values are converted, so that
+ * the default values and the generated values are bound as they are.</p>
+ */
+final class ColumnConverter {
+
+  private static final ColumnConverter NONE = new ColumnConverter(List.of(), newConverters(0), new Class<?>[0]);
+
+  private final List<String> columns;
+
+  private final @Nullable Function<String, ?>[] converters;
+
+  private final @Nullable Class<?>[] types;
+
+  private ColumnConverter(List<String> columns, @Nullable Function<String, ?>[] converters,
+                          @Nullable Class<?>[] types) {
+    this.columns = columns;
+    this.converters = converters;
+    this.types = types;
+  }
+
+  /**
+   * Returns the converter of the given columns.
+   *
+   * @param columns the column names
+   * @param types   the Java types of the columns keyed by the upper-case column names
+   * @return the converter
+   */
+  static ColumnConverter of(List<String> columns, Map<String, Class<?>> types) {
+    if (types.isEmpty()) {
+      return NONE;
+    }
+    var converters = newConverters(columns.size());
+    var classes = new Class<?>[columns.size()];
+    var found = false;
+    for (var i = 0; i < columns.size(); i++) {
+      var type = types.get(key(columns.get(i)));
+      if (type != null && type != String.class) {
+        converters[i] = converter(type);
+        classes[i] = type;
+        found = true;
+      }
+    }
+    return found ? new ColumnConverter(columns, converters, classes) : NONE;
+  }
+
+  /**
+   * Converts the string values of a row.
+   *
+   * @param values the values of the row, which are not modified
+   * @return the converted values, or {@code values} itself if no column is converted
+   * @throws IllegalArgumentException if a value cannot be converted
+   */
+  Object[] convert(Object[] values) {
+    if (converters.length == 0) {
+      return values;
+    }
+    var row = Arrays.copyOf(values, values.length, Object[].class);
+    for (var i = 0; i < converters.length; i++) {
+      var converter = converters[i];
+      if (converter != null && row[i] instanceof String) {
+        try {
+          row[i] = converter.apply((String) row[i]);
+        } catch (RuntimeException e) {
+          throw new IllegalArgumentException("cannot convert '" + row[i] + "' of column " + columns.get(i)
+              + " to " + requireType(i).getSimpleName(), e);
+        }
+      }
+    }
+    return row;
+  }
+
+  /**
+   * Returns the key of the given column name to look up the types.
+   *
+   * @param column the column name
+   * @return the key
+   */
+  static String key(String column) {
+    return column.toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns the Java type to convert the values of the given SQL type into.
+   *
+   * @param type the SQL type
+   * @return the Java type
+   * @throws IllegalArgumentException if the SQL type is not supported
+   */
+  static Class<?> javaType(SQLType type) {
+    var vendorTypeNumber = type.getVendorTypeNumber();
+    var javaType = vendorTypeNumber == null ? null : typeOf(vendorTypeNumber, type.getName());
+    if (javaType == null) {
+      throw new IllegalArgumentException("unsupported column type: " + type.getName());
+    }
+    return javaType;
+  }
+
+  /**
+   * Checks that the given Java type is supported.
+   *
+   * @param type the Java type
+   * @throws IllegalArgumentException if the Java type is not supported
+   */
+  static void checkSupported(Class<?> type) {
+    if (type != String.class) {
+      converter(type);
+    }
+  }
+
+  /**
+   * Returns the Java types of the columns of the given table.
+   *
+   * <p>The columns of types without a known Java type, e.g. character types, are not contained.</p>
+   *
+   * @param metadata the database metadata
+   * @param table    the table name, which may be qualified with the schema name
+   * @return the Java types keyed by the upper-case column names
+   * @throws SQLException if a database access error occurs
+   */
+  static Map<String, Class<?>> inferTypes(DatabaseMetaData metadata, String table) throws SQLException {
+    var p = table.lastIndexOf('.');
+    var schema = p == -1 ? metadata.getConnection().getSchema() : Identifiers.stored(metadata, table.substring(0, p));
+    var name = Identifiers.stored(metadata, table.substring(p + 1));
+    var types = new HashMap<String, Class<?>>();
+    try (var rs = metadata.getColumns(metadata.getConnection().getCatalog(), schema, name, null)) {
+      while (rs.next()) {
+        var type = typeOf(rs.getInt("DATA_TYPE"), rs.getString("TYPE_NAME"));
+        if (type != null) {
+          types.put(key(rs.getString("COLUMN_NAME")), type);
+        }
+      }
+    }
+    return types;
+  }
+
+  @Nullable
+  private static Class<?> typeOf(int jdbcType, @Nullable String typeName) {
+    switch (jdbcType) {
+      case Types.BIT:
+      case Types.BOOLEAN:
+        return Boolean.class;
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return Integer.class;
+      case Types.BIGINT:
+        return Long.class;
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+        return BigDecimal.class;
+      case Types.REAL:
+        return Float.class;
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return Double.class;
+      case Types.DATE:
+        return LocalDate.class;
+      case Types.TIME:
+        return LocalTime.class;
+      case Types.TIMESTAMP:
+        return LocalDateTime.class;
+      case Types.TIME_WITH_TIMEZONE:
+        return OffsetTime.class;
+      case Types.TIMESTAMP_WITH_TIMEZONE:
+        return OffsetDateTime.class;
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return String.class;
+      default:
+        return "UUID".equalsIgnoreCase(typeName) ? UUID.class : null;
+    }
+  }
+
+  private static Function<String, ?> converter(Class<?> type) {
+    if (type == Integer.class) {
+      return Integer::valueOf;
+    }
+    if (type == Long.class) {
+      return Long::valueOf;
+    }
+    if (type == Short.class) {
+      return Short::valueOf;
+    }
+    if (type == Byte.class) {
+      return Byte::valueOf;
+    }
+    if (type == BigDecimal.class) {
+      return BigDecimal::new;
+    }
+    if (type == BigInteger.class) {
+      return BigInteger::new;
+    }
+    if (type == Double.class) {
+      return Double::valueOf;
+    }
+    if (type == Float.class) {
+      return Float::valueOf;
+    }
+    if (type == Boolean.class) {
+      return ColumnConverter::parseBoolean;
+    }
+    if (type == LocalDate.class) {
+      return LocalDate::parse;
+    }
+    if (type == LocalTime.class) {
+      return LocalTime::parse;
+    }
+    if (type == LocalDateTime.class) {
+      return value -> LocalDateTime.parse(isoDateTime(value));
+    }
+    if (type == OffsetDateTime.class) {
+      return value -> OffsetDateTime.parse(isoDateTime(value));
+    }
+    if (type == OffsetTime.class) {
+      return OffsetTime::parse;
+    }
+    if (type == Instant.class) {
+      return value -> Instant.parse(isoDateTime(value));
+    }
+    if (type == UUID.class) {
+      return UUID::fromString;
+    }
+    throw new IllegalArgumentException("unsupported column type: " + type.getName());
+  }
+
+  private static Boolean parseBoolean(String value) {
+    if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equalsIgnoreCase(value) || "0".equals(value)) {
+      return Boolean.FALSE;
+    }
+    throw new IllegalArgumentException("not a boolean");
+  }
+
+  private static String isoDateTime(String value) {
+    return value.length() > 10 && value.charAt(10) == ' '
+        ? value.substring(0, 10) + 'T' + value.substring(11)
+        : value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable Function<String, ?>[] newConverters(int size) {
+    return new Function[size];
+  }
+
+  private Class<?> requireType(int i) {
+    var type = types[i];
+    return type == null ? Object.class : type;
+  }
+}
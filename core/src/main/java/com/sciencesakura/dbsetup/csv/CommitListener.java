@@ -0,0 +1,24 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+/**
+ * A listener which is notified each time an {@link Import} operation has committed a chunk of rows.
+ *
+ * @author sciencesakura
+ * @see Import.Builder#commitEvery(long, CommitListener)
+ */
+@FunctionalInterface
+public interface CommitListener {
+
+  /**
+   * Called after a chunk of rows has been committed.
+   *
+   * <p>The listener is called on the thread which executes the operation. It is not called for the last rows,
+   * which are committed by DbSetup after all operations have been executed.</p>
+   *
+   * @param table the table name
+   * @param rows  the number of rows committed so far by the operation
+   */
+  void committed(String table, long rows);
+}
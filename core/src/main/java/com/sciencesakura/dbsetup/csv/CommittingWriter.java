@@ -0,0 +1,65 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RowWriter} which commits the transaction of the connection each time a given number of rows have been
+ * written.
+ *
+ * <p>Before committing, the rows buffered by the underlying writer are sent to the database. Nothing is committed
+ * if the connection is in auto-commit mode.</p>
+ */
+final class CommittingWriter implements RowWriter {
+
+  private final RowWriter writer;
+
+  private final Connection connection;
+
+  private final String table;
+
+  private final long interval;
+
+  private final @Nullable CommitListener listener;
+
+  private long written;
+
+  CommittingWriter(RowWriter writer, Connection connection, String table, long interval,
+                   @Nullable CommitListener listener) {
+    this.writer = writer;
+    this.connection = connection;
+    this.table = table;
+    this.interval = interval;
+    this.listener = listener;
+  }
+
+  @Override
+  public void write(Object[] values) throws SQLException {
+    writer.write(values);
+    if (++written % interval == 0) {
+      writer.flush();
+      connection.commit();
+      if (listener != null) {
+        listener.committed(table, written);
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    writer.flush();
+  }
+
+  @Override
+  public long batches() {
+    return writer.batches();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    writer.close();
+  }
+}
@@ -0,0 +1,222 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A process-wide cache of parsed CSV files.
+ *
+ * <p>The cache is used by the {@code Import} operations built with {@link Import.Builder#cached()}.
+ * The parsed rows are keyed by the location of the CSV file and all settings which affect the parsing
+ * (encoding, delimiter, quotation mark, representation of null value and headers).
+ * A cached entry is discarded when the modification time of the CSV file changes.</p>
+ *
+ * <p>The total size of the cached rows is bounded by {@link #setMaxBytes(long)} (64 MiB by default);
+ * when the bound is exceeded, the least recently used entries are evicted.</p>
+ *
+ * <p>In addition, the parsed rows can be persisted in a cache directory specified by
+ * {@link #setDirectory(Path)} or by the system property {@code dbsetup.csv.cache.dir}.
+ * The rows are stored in a compact binary file named after a hash of the CSV file content and the settings,
+ * so that the subsequent JVMs read the binary file instead of parsing the CSV file.
+ * The cache directory is used by all {@code Import} operations except in the streaming mode.</p>
+ *
+ * @author sciencesakura
+ */
+public final class CsvCache {
+
+  private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private static final Object LOCK = new Object();
+
+  private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+
+  private static long maxBytes = DEFAULT_MAX_BYTES;
+
+  private static long totalBytes;
+
+  private CsvCache() {
+  }
+
+  /**
+   * Specifies the maximum total size of the cached rows in bytes.
+   *
+   * <p>The size is estimated from the number and the length of the cached values.</p>
+   *
+   * @param maxBytes the maximum total size in bytes, {@code 0} disables caching
+   * @throws IllegalArgumentException if {@code maxBytes} is negative
+   */
+  public static void setMaxBytes(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("maxBytes must not be negative");
+    }
+    synchronized (LOCK) {
+      CsvCache.maxBytes = maxBytes;
+      evict();
+    }
+  }
+
+  /**
+   * Specifies the directory to persist the parsed rows.
+   *
+   * <p>By default, the value of the system property {@code dbsetup.csv.cache.dir} is used.</p>
+   *
+   * @param directory the cache directory, {@code null} disables the persistent cache
+   */
+  public static void setDirectory(@Nullable Path directory) {
+    DiskCache.setDirectory(directory);
+  }
+
+  /**
+   * Discards all rows cached in memory.
+   *
+   * <p>The rows persisted in the cache directory are not affected.</p>
+   */
+  public static void clear() {
+    synchronized (LOCK) {
+      ENTRIES.clear();
+      totalBytes = 0;
+    }
+  }
+
+  /**
+   * Returns the cached rows of the given CSV file, parsing it if it is not cached or has been modified.
+   *
+   * <p>If the source cannot be read more than once, the CSV file is just parsed.</p>
+   *
+   * @param source  the source of the CSV file
+   * @param charset the encoding of the CSV file
+   * @param format  the format of the CSV file
+   * @param loader  the function to parse the CSV file
+   * @return the rows
+   * @throws IOException if an I/O error occurs
+   */
+  static RowSet get(Source source, Charset charset, CSVFormat format, Loader loader) throws IOException {
+    var id = source.id();
+    if (id == null) {
+      return loader.load();
+    }
+    var key = new Key(id, charset, format);
+    var lastModified = source.lastModified();
+    synchronized (LOCK) {
+      var entry = ENTRIES.get(key);
+      if (entry != null) {
+        if (entry.lastModified == lastModified) {
+          return entry.rows;
+        }
+        remove(key);
+      }
+    }
+    var rows = loader.load();
+    var entry = new Entry(rows, lastModified, sizeOf(rows));
+    synchronized (LOCK) {
+      if (entry.bytes <= maxBytes) {
+        var old = ENTRIES.put(key, entry);
+        if (old != null) {
+          totalBytes -= old.bytes;
+        }
+        totalBytes += entry.bytes;
+        evict();
+      }
+    }
+    return rows;
+  }
+
+  static int size() {
+    synchronized (LOCK) {
+      return ENTRIES.size();
+    }
+  }
+
+  private static void remove(Key key) {
+    var entry = ENTRIES.remove(key);
+    if (entry != null) {
+      totalBytes -= entry.bytes;
+    }
+  }
+
+  private static void evict() {
+    Iterator<Entry> it = ENTRIES.values().iterator();
+    while (totalBytes > maxBytes && it.hasNext()) {
+      totalBytes -= it.next().bytes;
+      it.remove();
+    }
+  }
+
+  private static long sizeOf(RowSet rows) {
+    var bytes = 0L;
+    for (var values : rows.values()) {
+      bytes += 16 + 8L * values.length;
+      for (var value : values) {
+        if (value instanceof String) {
+          bytes += 40 + 2L * ((String) value).length();
+        }
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * A function to parse a CSV file.
+   */
+  @FunctionalInterface
+  interface Loader {
+
+    RowSet load() throws IOException;
+  }
+
+  private static final class Key {
+
+    private final String location;
+
+    private final Charset charset;
+
+    private final CSVFormat format;
+
+    Key(String location, Charset charset, CSVFormat format) {
+      this.location = location;
+      this.charset = charset;
+      this.format = format;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      var other = (Key) obj;
+      return location.equals(other.location) && charset.equals(other.charset) && format.equals(other.format);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(location, charset, format);
+    }
+  }
+
+  private static final class Entry {
+
+    private final RowSet rows;
+
+    private final long lastModified;
+
+    private final long bytes;
+
+    Entry(RowSet rows, long lastModified, long bytes) {
+      this.rows = rows;
+      this.lastModified = lastModified;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,198 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A persistent cache of parsed CSV files stored as binary row files.
+ *
+ * <p>The row files are named after a SHA-256 hash of the CSV file content and the settings which affect
+ * the parsing, so a modified CSV file never hits a stale row file. The row files are read back through
+ * a memory-mapped {@link FileChannel}.</p>
+ *
+ * <p>The row file format is: the magic number, the number of columns, the column names, the number of rows
+ * and then, for each row, the number of values followed by the values. A string is stored as the length of
+ * its UTF-8 representation ({@code -1} for {@code null}) followed by the UTF-8 bytes.</p>
+ */
+final class DiskCache {
+
+  static final String DIRECTORY_PROPERTY = "dbsetup.csv.cache.dir";
+
+  private static final int MAGIC = 0x44425343;
+
+  private static final int VERSION = 1;
+
+  private static final String SUFFIX = ".rows";
+
+  @Nullable
+  private static volatile Path directory = initialDirectory();
+
+  private DiskCache() {
+  }
+
+  static void setDirectory(@Nullable Path directory) {
+    DiskCache.directory = directory;
+  }
+
+  @Nullable
+  static Path directory() {
+    return directory;
+  }
+
+  /**
+   * Returns the rows of the given CSV file from the row file, parsing the CSV file and writing the row file
+   * if it does not exist. If no cache directory is configured or the source cannot be read more than once,
+   * the CSV file is just parsed.
+   *
+   * @param source  the source of the CSV file
+   * @param charset the encoding of the CSV file
+   * @param format  the format of the CSV file
+   * @param loader  the function to parse the CSV file
+   * @return the rows
+   * @throws IOException if an I/O error occurs
+   */
+  static RowSet get(Source source, Charset charset, CSVFormat format, CsvCache.Loader loader) throws IOException {
+    var dir = directory;
+    if (dir == null || source.id() == null) {
+      return loader.load();
+    }
+    var file = dir.resolve(Fingerprints.of(source, charset.name() + '\n' + format + '\n') + SUFFIX);
+    var cached = readRows(file);
+    if (cached != null) {
+      return cached;
+    }
+    var rows = loader.load();
+    writeRows(dir, file, rows);
+    return rows;
+  }
+
+  @Nullable
+  private static Path initialDirectory() {
+    var value = System.getProperty(DIRECTORY_PROPERTY);
+    return value == null || value.isEmpty() ? null : Path.of(value);
+  }
+
+  @Nullable
+  private static RowSet readRows(Path file) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        return null;
+      }
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        return null;
+      }
+      var columns = new String[readCount(buffer)];
+      for (var i = 0; i < columns.length; i++) {
+        columns[i] = requireColumn(readString(buffer));
+      }
+      var rowCount = readCount(buffer);
+      var values = new ArrayList<Object[]>(rowCount);
+      for (var r = 0; r < rowCount; r++) {
+        var row = new String[readCount(buffer)];
+        for (var i = 0; i < row.length; i++) {
+          row[i] = readString(buffer);
+        }
+        values.add(row);
+      }
+      return new RowSet(List.of(columns), Collections.unmodifiableList(values));
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      // a truncated or corrupted row file is parsed again
+      return null;
+    }
+  }
+
+  private static void writeRows(Path dir, Path file, RowSet rows) throws IOException {
+    Files.createDirectories(dir);
+    var temp = Files.createTempFile(dir, "rows", ".tmp");
+    try {
+      try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 65536))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rows.columns().size());
+        for (var column : rows.columns()) {
+          writeString(out, column);
+        }
+        out.writeInt(rows.values().size());
+        for (var row : rows.values()) {
+          out.writeInt(row.length);
+          for (var value : row) {
+            writeString(out, (String) value);
+          }
+        }
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Nullable
+  private static String readString(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length == -1) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("corrupted string length: " + length);
+    }
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reads the number of the following elements, each of which takes at least 4 bytes (its own count or length),
+   * so that a corrupted count cannot make the caller allocate more than the file can hold.
+   */
+  private static int readCount(ByteBuffer buffer) {
+    var count = buffer.getInt();
+    if (count < 0 || count > buffer.remaining() / Integer.BYTES) {
+      throw new IllegalArgumentException("corrupted count: " + count);
+    }
+    return count;
+  }
+
+  private static String requireColumn(@Nullable String column) {
+    if (column == null) {
+      throw new IllegalArgumentException("null column name");
+    }
+    return column;
+  }
+}
@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A {@link RowWriter} which writes each row with several writers, one per target table.
+ *
+ * <p>Each writer keeps its own prepared statement, so that a statement is prepared only once per target table
+ * however many rows are written.</p>
+ */
+final class FanOutWriter implements RowWriter {
+
+  private final List<RowWriter> writers;
+
+  FanOutWriter(List<RowWriter> writers) {
+    this.writers = List.copyOf(writers);
+  }
+
+  @Override
+  public void write(Object[] values) throws SQLException {
+    for (var writer : writers) {
+      writer.write(values);
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    for (var writer : writers) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public long batches() {
+    var batches = 0L;
+    for (var writer : writers) {
+      batches += writer.batches();
+    }
+    return batches;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    close(writers);
+  }
+
+  /**
+   * Closes all the given writers, even if some of them fail.
+   *
+   * @param writers the writers to close
+   * @throws SQLException if a database access error occurs
+   */
+  static void close(List<RowWriter> writers) throws SQLException {
+    SQLException failure = null;
+    for (var writer : writers) {
+      try {
+        writer.close();
+      } catch (SQLException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
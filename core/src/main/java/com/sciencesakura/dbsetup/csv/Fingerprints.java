@@ -0,0 +1,127 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Computes the fingerprints of CSV files and keeps the fingerprints of the imported tables in a bookkeeping table.
+ *
+ * <p>A fingerprint is a SHA-256 hash of the settings followed by the raw bytes of the CSV file. The number of rows
+ * of the table after the import is recorded with the fingerprint, so that a table whose rows have been deleted or
+ * added since is not taken as up to date. The bookkeeping table is created in the default schema of the connection
+ * when it does not exist.</p>
+ */
+final class Fingerprints {
+
+  static final String TABLE = "dbsetup_csv_fingerprint";
+
+  private Fingerprints() {
+  }
+
+  /**
+   * Returns the fingerprint of the given CSV file and settings.
+   *
+   * @param source   the source of the CSV file, which must be readable more than once
+   * @param settings the settings which affect the imported rows
+   * @return the fingerprint as a hexadecimal string
+   * @throws IOException if an I/O error occurs
+   */
+  static String of(Source source, String settings) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(settings.getBytes(StandardCharsets.UTF_8));
+    try (InputStream in = source.openRaw()) {
+      var buffer = new byte[65536];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, n);
+      }
+    }
+    var hex = new StringBuilder(64);
+    for (var b : digest.digest()) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * Returns whether the given table holds the rows of the given fingerprint: the fingerprint recorded for the table
+   * is the given one and the table still has the number of rows recorded with it.
+   *
+   * @param connection  the connection to the database
+   * @param table       the table name
+   * @param fingerprint the fingerprint
+   * @return {@code true} if the table is up to date
+   * @throws SQLException if a database access error occurs
+   */
+  static boolean isCurrent(Connection connection, String table, String fingerprint) throws SQLException {
+    createTable(connection);
+    try (var statement = connection.prepareStatement(
+        "select fingerprint, row_count from " + TABLE + " where table_name = ?")) {
+      statement.setString(1, table);
+      try (var rs = statement.executeQuery()) {
+        if (!rs.next() || !fingerprint.equals(rs.getString(1))) {
+          return false;
+        }
+        return rs.getLong(2) == count(connection, table);
+      }
+    }
+  }
+
+  /**
+   * Records the fingerprint and the current number of rows for the given table.
+   *
+   * @param connection  the connection to the database
+   * @param table       the table name
+   * @param fingerprint the fingerprint
+   * @throws SQLException if a database access error occurs
+   */
+  static void put(Connection connection, String table, String fingerprint) throws SQLException {
+    try (var statement = connection.prepareStatement("delete from " + TABLE + " where table_name = ?")) {
+      statement.setString(1, table);
+      statement.executeUpdate();
+    }
+    var rows = count(connection, table);
+    try (var statement = connection.prepareStatement(
+        "insert into " + TABLE + " (table_name, fingerprint, row_count) values (?, ?, ?)")) {
+      statement.setString(1, table);
+      statement.setString(2, fingerprint);
+      statement.setLong(3, rows);
+      statement.executeUpdate();
+    }
+  }
+
+  private static long count(Connection connection, String table) throws SQLException {
+    try (var statement = connection.createStatement();
+         var rs = statement.executeQuery("select count(*) from " + table)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  private static void createTable(Connection connection) throws SQLException {
+    var metadata = connection.getMetaData();
+    var name = Identifiers.stored(metadata, TABLE);
+    try (var rs = metadata.getTables(connection.getCatalog(), connection.getSchema(), name, null)) {
+      if (rs.next()) {
+        return;
+      }
+    }
+    try (var statement = connection.createStatement()) {
+      statement.executeUpdate("create table " + TABLE
+          + " (table_name varchar(255) not null primary key, fingerprint varchar(64) not null,"
+          + " row_count bigint not null)");
+    }
+  }
+}
@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * A {@link BulkLoader} for H2 which loads the CSV file with {@code INSERT INTO ... SELECT ... FROM CSVREAD(...)}.
+ *
+ * <p>H2 reads an empty unquoted value as null regardless of the null string, so only the default null string
+ * (an empty string) is supported. The values are trimmed with {@code TRIM} since H2 does not trim quoted values.
+ * A database accessed over the network is not supported because the server may not see the file.</p>
+ */
+final class H2BulkLoader implements BulkLoader {
+
+  @Override
+  public boolean supports(DatabaseMetaData metaData, BulkLoadRequest request) throws SQLException {
+    if (!"H2".equals(metaData.getDatabaseProductName())) {
+      return false;
+    }
+    var url = metaData.getURL();
+    if (url == null || url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:")) {
+      return false;
+    }
+    return request.nullString().isEmpty()
+        && request.delimiter() != ' '
+        && request.quote() != ' '
+        && !request.columns().isEmpty();
+  }
+
+  @Override
+  public long load(Connection connection, BulkLoadRequest request) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      return statement.executeUpdate(sql(request));
+    }
+  }
+
+  private static String sql(BulkLoadRequest request) {
+    var columns = request.columns();
+    var sql = new StringBuilder("insert into ").append(request.table()).append(" (");
+    sql.append(String.join(", ", columns)).append(") select ");
+    for (var i = 1; i <= columns.size(); i++) {
+      sql.append(i == 1 ? "" : ", ").append("nullif(trim(c").append(i).append("), '')");
+    }
+    sql.append(" from csvread(").append(literal(request.file().toAbsolutePath().toString())).append(", ");
+    if (request.hasHeaderRecord()) {
+      sql.append("null");
+    } else {
+      var names = new StringBuilder();
+      for (var i = 1; i <= columns.size(); i++) {
+        names.append(i == 1 ? "" : String.valueOf(request.delimiter())).append('c').append(i);
+      }
+      sql.append(literal(names.toString()));
+    }
+    var options = "charset=" + request.charset().name()
+        + " fieldSeparator=" + request.delimiter()
+        + " fieldDelimiter=" + request.quote()
+        + " escape=" + request.quote();
+    sql.append(", ").append(literal(options)).append(") as x (");
+    for (var i = 1; i <= columns.size(); i++) {
+      sql.append(i == 1 ? "c" : ", c").append(i);
+    }
+    return sql.append(')').toString();
+  }
+
+  private static String literal(String value) {
+    return '\'' + value.replace("'", "''") + '\'';
+  }
+}
@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Utilities to look up the database metadata by the identifiers written in SQL statements.
+ */
+final class Identifiers {
+
+  private Identifiers() {
+  }
+
+  /**
+   * Returns the given unquoted identifier in the case in which the database stores it.
+   *
+   * @param metadata   the database metadata
+   * @param identifier the identifier
+   * @return the identifier to look up the metadata
+   * @throws SQLException if a database access error occurs
+   */
+  static String stored(DatabaseMetaData metadata, String identifier) throws SQLException {
+    if (metadata.storesUpperCaseIdentifiers()) {
+      return identifier.toUpperCase(Locale.ROOT);
+    }
+    if (metadata.storesLowerCaseIdentifiers()) {
+      return identifier.toLowerCase(Locale.ROOT);
+    }
+    return identifier;
+  }
+}
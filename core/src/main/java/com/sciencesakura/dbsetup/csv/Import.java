@@ -7,21 +7,37 @@ import static java.util.Objects.requireNonNull;
 import com.ninja_squad.dbsetup.DbSetupRuntimeException;
 import com.ninja_squad.dbsetup.bind.BinderConfiguration;
 import com.ninja_squad.dbsetup.generator.ValueGenerator;
-import com.ninja_squad.dbsetup.operation.Insert;
 import com.ninja_squad.dbsetup.operation.Operation;
 import java.io.IOException;
+import java.net.JarURLConnection;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLType;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -37,13 +53,24 @@ import org.jspecify.annotations.Nullable;
  * dbSetup.launch();
  * }</pre>
  *
+ * <p>The lines of the CSV file are split by a built-in tokenizer which does not allocate a record object per row.
+ * From the first line containing the quotation mark, the rest of the file is read with commons-csv instead, so a
+ * file without quoted values takes the fast path automatically. Both read the values in the same way: they are
+ * trimmed and a value equal to the null string is read as null. Only commons-csv is used when
+ * {@link Builder#filter(Predicate)} is specified, because the filter needs the {@code CSVRecord}.</p>
+ *
  * @author sciencesakura
  */
 public final class Import implements Operation {
 
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
   /**
    * Creates a new {@code Import.Builder} instance.
    *
+   * <p>A gzip-compressed file (e.g. {@code items.csv.gz}) and a zlib-compressed file with {@code .deflate} extension
+   * are decompressed while reading.</p>
+   *
    * @param location the {@code /}-separated path from classpath root to the CSV file
    * @return the new {@code Import.Builder} instance
    * @throws IllegalArgumentException if the CSV file is not found
@@ -54,7 +81,37 @@ public final class Import implements Operation {
     if (urlLocation == null) {
       throw new IllegalArgumentException(location + " not found");
     }
-    return new Builder(urlLocation);
+    return new Builder(Source.of(urlLocation));
+  }
+
+  /**
+   * Creates a new {@code Import.Builder} instance which reads the CSV file from the file system.
+   *
+   * @param path the path to the CSV file
+   * @return the new {@code Import.Builder} instance
+   * @throws IllegalArgumentException if the CSV file is not found
+   */
+  public static Builder csv(Path path) {
+    requireNonNull(path, "path must not be null");
+    if (!Files.isRegularFile(path)) {
+      throw new IllegalArgumentException(path + " not found");
+    }
+    return new Builder(Source.of(path));
+  }
+
+  /**
+   * Creates a new {@code Import.Builder} instance which reads the CSV file from the given channel.
+   *
+   * <p>The channel is read only once and closed after reading, so the table name must be specified by
+   * {@link Builder#into(String)} and the operation can be executed only once in the streaming mode.</p>
+   *
+   * @param channel the channel to read the CSV file
+   * @return the new {@code Import.Builder} instance
+   * @throws IllegalArgumentException if the channel is a {@link java.nio.channels.SelectableChannel} in
+   *     non-blocking mode
+   */
+  public static Builder csv(ReadableByteChannel channel) {
+    return new Builder(Source.of(requireNonNull(channel, "channel must not be null")));
   }
 
   /**
@@ -68,6 +125,89 @@ public final class Import implements Operation {
     return csv(location).withDelimiter('\t');
   }
 
+  /**
+   * Creates a new {@code Import.Builder} instance with TSV format which reads the TSV file from the file system.
+   *
+   * @param path the path to the TSV file
+   * @return the new {@code Import.Builder} instance
+   * @throws IllegalArgumentException if the TSV file is not found
+   */
+  public static Builder tsv(Path path) {
+    return csv(path).withDelimiter('\t');
+  }
+
+  /**
+   * Creates a new {@code Import.Builder} instance with TSV format which reads the TSV file from the given channel.
+   *
+   * <p>The channel is read only once and closed after reading, so the table name must be specified by
+   * {@link Builder#into(String)} and the operation can be executed only once in the streaming mode.</p>
+   *
+   * @param channel the channel to read the TSV file
+   * @return the new {@code Import.Builder} instance
+   * @throws IllegalArgumentException if the channel is a {@link java.nio.channels.SelectableChannel} in
+   *     non-blocking mode
+   */
+  public static Builder tsv(ReadableByteChannel channel) {
+    return csv(channel).withDelimiter('\t');
+  }
+
+  /**
+   * Creates a new {@code ImportSet.Builder} instance for all CSV and TSV files in the given directory.
+   *
+   * <p>The files with {@code .csv} or {@code .tsv} extension (optionally followed by {@code .gz} or
+   * {@code .deflate}) directly under the directory are imported, each into the table named after the file.</p>
+   *
+   * @param location the {@code /}-separated path from classpath root to the directory
+   * @return the new {@code ImportSet.Builder} instance
+   * @throws IllegalArgumentException if the directory is not found
+   */
+  public static ImportSet.Builder csvDirectory(String location) {
+    requireNonNull(location, "location must not be null");
+    var dir = location.endsWith("/") ? location.substring(0, location.length() - 1) : location;
+    var urlLocation = Import.class.getClassLoader().getResource(dir);
+    if (urlLocation == null) {
+      throw new IllegalArgumentException(location + " not found");
+    }
+    var builders = new ArrayList<Builder>();
+    for (var name : listDirectory(urlLocation)) {
+      var base = name.replaceFirst("\\.(gz|deflate)$", "");
+      if (base.endsWith(".csv")) {
+        builders.add(csv(dir + '/' + name));
+      } else if (base.endsWith(".tsv")) {
+        builders.add(tsv(dir + '/' + name));
+      }
+    }
+    return ImportSet.of(builders);
+  }
+
+  private static List<String> listDirectory(URL directory) {
+    var names = new ArrayList<String>();
+    try {
+      if ("file".equals(directory.getProtocol())) {
+        try (var files = Files.list(Path.of(directory.toURI()))) {
+          files.filter(Files::isRegularFile).forEach(file -> names.add(file.getFileName().toString()));
+        }
+      } else if ("jar".equals(directory.getProtocol())) {
+        var connection = (JarURLConnection) directory.openConnection();
+        var prefix = connection.getEntryName() + '/';
+        var entries = connection.getJarFile().entries();
+        while (entries.hasMoreElements()) {
+          var entry = entries.nextElement().getName();
+          if (entry.startsWith(prefix) && entry.indexOf('/', prefix.length()) == -1
+              && entry.length() > prefix.length()) {
+            names.add(entry.substring(prefix.length()));
+          }
+        }
+      } else {
+        throw new IllegalArgumentException("cannot list " + directory);
+      }
+    } catch (IOException | URISyntaxException e) {
+      throw new DbSetupRuntimeException("failed to open " + directory, e);
+    }
+    Collections.sort(names);
+    return names;
+  }
+
   private static CSVFormat createFormat(Builder builder) {
     var fb = CSVFormat.Builder.create(CSVFormat.DEFAULT)
         .setDelimiter(builder.delimiter)
@@ -82,19 +222,102 @@ public final class Import implements Operation {
     return fb.get();
   }
 
-  private final Operation internalOperation;
+  private final String table;
 
-  private Import(Builder builder) {
-    var ib = Insert.into(builder.table());
-    try (var csv = CSVParser.parse(builder.location.openStream(), builder.charset, createFormat(builder))) {
-      ib.columns(csv.getHeaderNames().toArray(new String[0]));
-      builder.defaultValues.forEach(ib::withDefaultValue);
-      builder.valueGenerators.forEach(ib::withGeneratedValue);
-      csv.forEach(row -> ib.values((Object[]) row.values()));
-    } catch (IOException e) {
-      throw new DbSetupRuntimeException("failed to open " + builder.location, e);
+  private final List<String> targets;
+
+  private final Source source;
+
+  private final Charset charset;
+
+  private final CSVFormat format;
+
+  private final Map<String, Object> defaultValues;
+
+  private final Map<String, ValueGenerator<?>> valueGenerators;
+
+  private final int batchSize;
+
+  private final int maxParameters;
+
+  private final int queueDepth;
+
+  private final boolean bulkLoad;
+
+  private final Map<String, Class<?>> columnTypes;
+
+  private final boolean inferColumnTypes;
+
+  private final List<String> includedColumns;
+
+  private final Set<String> excludedColumns;
+
+  private final RowSelection selection;
+
+  private final List<String> keyColumns;
+
+  private final boolean parallelParsing;
+
+  private final boolean ordered;
+
+  @Nullable
+  private final ImportListener listener;
+
+  private final long commitInterval;
+
+  @Nullable
+  private final CommitListener commitListener;
+
+  private final ImportStats parseStats = new ImportStats();
+
+  @Nullable
+  private final String settings;
+
+  @Nullable
+  private volatile String fingerprint;
+
+  @Nullable
+  private final CompletableFuture<RowSet> rows;
+
+  @Nullable
+  private volatile Map<String, Class<?>> resolvedTypes;
+
+  @Nullable
+  private volatile RowSet typedRows;
+
+  private Import(Builder builder, @Nullable Executor executor) {
+    table = builder.table();
+    targets = builder.schemas.isEmpty() ? List.of(table)
+        : builder.schemas.stream().map(schema -> schema + '.' + table).collect(Collectors.toUnmodifiableList());
+    source = builder.source;
+    charset = builder.charset;
+    format = createFormat(builder);
+    defaultValues = new LinkedHashMap<>(builder.defaultValues);
+    valueGenerators = new LinkedHashMap<>(builder.valueGenerators);
+    maxParameters = builder.maxParameters;
+    queueDepth = builder.queueDepth;
+    bulkLoad = builder.bulkLoad;
+    columnTypes = new HashMap<>(builder.columnTypes);
+    inferColumnTypes = builder.inferColumnTypes;
+    includedColumns = List.copyOf(builder.includedColumns);
+    excludedColumns = Set.copyOf(builder.excludedColumns);
+    parallelParsing = builder.parallelParsing;
+    ordered = builder.ordered;
+    listener = builder.listener;
+    commitInterval = builder.commitInterval;
+    commitListener = builder.commitListener;
+    selection = new RowSelection(builder.skip, builder.limit, builder.fraction, builder.seed, builder.filter);
+    keyColumns = List.copyOf(builder.keyColumns);
+    settings = builder.skipIfUnchanged && source.id() != null ? settings(builder) : null;
+    batchSize = bulkLoad && builder.batchSize == 0 && maxParameters == 0 ? DEFAULT_BATCH_SIZE : builder.batchSize;
+    if (builder.streaming || queueDepth != 0 || bulkLoad) {
+      rows = null;
+      return;
     }
-    internalOperation = ib.build();
+    var cached = builder.cached;
+    rows = executor == null
+        ? CompletableFuture.completedFuture(readRows(cached))
+        : CompletableFuture.supplyAsync(() -> readRows(cached), executor);
   }
 
   /**
@@ -102,12 +325,462 @@ public final class Import implements Operation {
    */
   @Override
   public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
-    internalOperation.execute(connection, configuration);
+    execute(connection, configuration, null);
+  }
+
+  /**
+   * Executes this operation, inserting only the given part of the rows if specified.
+   *
+   * @param connection    the connection to the database
+   * @param configuration the binder configuration
+   * @param part          the rows to insert, taken from {@link #prefetchedRows(Connection)}, or {@code null} to
+   *                      import all rows
+   * @throws SQLException if a database access error occurs
+   */
+  void execute(Connection connection, BinderConfiguration configuration, @Nullable RowSet part)
+      throws SQLException {
+    var stats = new ImportStats();
+    var event = new ImportEvent();
+    event.begin();
+    var start = System.nanoTime();
+    var phase = run(connection, configuration, part, stats);
+    var elapsed = System.nanoTime() - start;
+    event.report(table, phase, stats, stats.rowsInserted + stats.rowsUpdated + stats.rowsDeleted);
+    if (listener != null) {
+      listener.imported(new ImportMetrics(table, stats, elapsed));
+    }
+  }
+
+  String table() {
+    return table;
+  }
+
+  boolean merges() {
+    return !keyColumns.isEmpty();
+  }
+
+  boolean commitsAtInterval() {
+    return commitInterval != 0;
+  }
+
+  private static String settings(Builder builder) {
+    var settings = new StringBuilder();
+    settings.append("charset=").append(builder.charset.name()).append('\n')
+        .append("format=").append(createFormat(builder)).append('\n');
+    builder.defaultValues.forEach((column, value) ->
+        settings.append("default ").append(column).append('=').append(value).append('\n'));
+    builder.valueGenerators.forEach((column, generator) ->
+        settings.append("generator ").append(column).append('=').append(generator.getClass().getName()).append('\n'));
+    builder.columnTypes.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e ->
+        settings.append("type ").append(e.getKey()).append('=').append(e.getValue().getName()).append('\n'));
+    settings.append("inferColumnTypes=").append(builder.inferColumnTypes).append('\n')
+        .append("columns=").append(builder.includedColumns).append('\n')
+        .append("excludedColumns=").append(builder.excludedColumns).append('\n')
+        .append("rows=").append(builder.skip).append(',').append(builder.limit).append(',')
+        .append(builder.fraction).append(',').append(builder.seed).append('\n');
+    if (builder.filter != null) {
+      settings.append("filter=").append(builder.filter.getClass().getName()).append('\n');
+    }
+    return settings.toString();
+  }
+
+  private String run(Connection connection, BinderConfiguration configuration, @Nullable RowSet part,
+                     ImportStats stats) throws SQLException {
+    var into = targets;
+    var print = part == null && settings != null ? currentFingerprint() : null;
+    if (print != null) {
+      into = staleTargets(connection, print);
+    }
+    String phase;
+    if (into.isEmpty()) {
+      phase = ImportEvent.SKIP;
+    } else if (part != null) {
+      insert(connection, configuration, into, part, false, stats);
+      phase = ImportEvent.INSERT;
+    } else if (!keyColumns.isEmpty()) {
+      merge(connection, configuration, into, stats);
+      phase = ImportEvent.MERGE;
+    } else if (bulkLoad(connection, into, stats)) {
+      phase = ImportEvent.BULK_LOAD;
+    } else if (rows != null) {
+      var read = requireNonNull(prefetchedRows(connection));
+      stats.addParsed(parseStats);
+      insert(connection, configuration, into, read, true, stats);
+      phase = ImportEvent.INSERT;
+    } else {
+      stream(connection, configuration, into, stats);
+      phase = ImportEvent.STREAM;
+    }
+    if (print != null) {
+      for (var target : into) {
+        Fingerprints.put(connection, target, print);
+      }
+    }
+    return phase;
+  }
+
+  private String currentFingerprint() {
+    if (rows != null) {
+      await(rows);
+      return requireNonNull(fingerprint);
+    }
+    return computeFingerprint();
+  }
+
+  private String computeFingerprint() {
+    try {
+      return Fingerprints.of(source, requireNonNull(settings));
+    } catch (IOException e) {
+      throw new DbSetupRuntimeException("failed to open " + source, e);
+    }
+  }
+
+  private List<String> staleTargets(Connection connection, String print) throws SQLException {
+    var stale = new ArrayList<String>(targets.size());
+    for (var target : targets) {
+      if (!Fingerprints.isCurrent(connection, target, print)) {
+        stale.add(target);
+      }
+    }
+    return stale;
+  }
+
+  /**
+   * Returns the rows read when this operation was built, converted into the column types.
+   *
+   * @param connection the connection to infer the column types from
+   * @return the rows, or {@code null} if the rows are read when this operation is executed
+   * @throws SQLException if a database access error occurs
+   */
+  @Nullable
+  RowSet prefetchedRows(Connection connection) throws SQLException {
+    if (rows == null) {
+      return null;
+    }
+    var read = await(rows);
+    return inferColumnTypes ? typedRows(connection, read) : read;
+  }
+
+  private static RowSet await(CompletableFuture<RowSet> rows) {
+    try {
+      return rows.join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new DbSetupRuntimeException(cause);
+    }
+  }
+
+  private boolean bulkLoad(Connection connection, List<String> into, ImportStats stats) throws SQLException {
+    if (!bulkLoad || !defaultValues.isEmpty() || !valueGenerators.isEmpty() || !includedColumns.isEmpty()
+        || !excludedColumns.isEmpty() || !selection.isAll()) {
+      return false;
+    }
+    var request = bulkLoadRequest();
+    var loader = request == null ? null : BulkLoaders.find(connection.getMetaData(), request);
+    if (loader == null) {
+      return false;
+    }
+    var start = System.nanoTime();
+    for (var target : into) {
+      var loaded = loader.load(connection, request.withTable(target));
+      stats.bytesRead += request.file().toFile().length();
+      stats.rowsParsed += loaded;
+      stats.rowsInserted += loaded;
+      stats.batches++;
+    }
+    stats.insertNanos = System.nanoTime() - start;
+    return true;
+  }
+
+  private void merge(Connection connection, BinderConfiguration configuration, List<String> into, ImportStats stats)
+      throws SQLException {
+    var start = System.nanoTime();
+    var read = prefetchedRows(connection);
+    if (read != null) {
+      stats.addParsed(parseStats);
+    } else {
+      try (var reader = openReader(stats)) {
+        var layout = newLayout(reader.headers());
+        var converter = ColumnConverter.of(layout.columns(), columnTypes(connection));
+        var values = new ArrayList<Object[]>();
+        RowReader.map(reader.rows(selection, layout), converter::convert).forEach(values::add);
+        read = new RowSet(layout.columns(), values);
+      } catch (IOException e) {
+        throw new DbSetupRuntimeException("failed to open " + source, e);
+      }
+      stats.rowsParsed = read.values().size();
+      stats.parseNanos = System.nanoTime() - start;
+      start = System.nanoTime();
+    }
+    var diff = new RowDiff(read.columns(), keyColumns, read.values());
+    var batchRows = batchSize != 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    for (var target : into) {
+      diff.apply(connection, configuration, target, batchRows, stats);
+    }
+    stats.insertNanos = System.nanoTime() - start;
+  }
+
+  private void insert(Connection connection, BinderConfiguration configuration, List<String> into, RowSet target,
+                      boolean commit, ImportStats stats) throws SQLException {
+    var start = System.nanoTime();
+    try (var writer = newWriter(connection, configuration, into, target.columns(), commit)) {
+      for (var values : target.values()) {
+        writer.write(values);
+      }
+      writer.flush();
+      stats.batches = writer.batches();
+    }
+    stats.insertNanos = System.nanoTime() - start;
+    stats.rowsInserted = (long) target.values().size() * into.size();
+  }
+
+  private void stream(Connection connection, BinderConfiguration configuration, List<String> into,
+                      ImportStats stats) throws SQLException {
+    var start = System.nanoTime();
+    try (var reader = openReader(stats)) {
+      var layout = newLayout(reader.headers());
+      var converter = ColumnConverter.of(layout.columns(), columnTypes(connection));
+      var values = RowReader.map(reader.rows(selection, layout), converter::convert);
+      try (var writer = newWriter(connection, configuration, into, layout.columns(), true)) {
+        var rowCount = 0L;
+        var insertNanos = 0L;
+        if (queueDepth != 0) {
+          var batchRows = batchSize != 0 ? batchSize : DEFAULT_BATCH_SIZE;
+          try (var pipeline = new RowPipeline(values, batchRows, queueDepth)) {
+            stats.parseNanos = System.nanoTime() - start;
+            List<Object[]> batch;
+            while ((batch = pipeline.take()) != null) {
+              var t = System.nanoTime();
+              for (var row : batch) {
+                writer.write(row);
+              }
+              insertNanos += System.nanoTime() - t;
+              rowCount += batch.size();
+            }
+            stats.parseNanos += pipeline.parseNanos();
+          }
+        } else {
+          var iterator = values.iterator();
+          var t = System.nanoTime();
+          while (iterator.hasNext()) {
+            var row = iterator.next();
+            var parsed = System.nanoTime();
+            writer.write(row);
+            t = System.nanoTime();
+            insertNanos += t - parsed;
+            rowCount++;
+          }
+          stats.parseNanos = t - start - insertNanos;
+        }
+        var t = System.nanoTime();
+        writer.flush();
+        stats.insertNanos = insertNanos + System.nanoTime() - t;
+        stats.batches = writer.batches();
+        stats.rowsParsed = rowCount;
+        stats.rowsInserted = rowCount * into.size();
+      }
+    } catch (IOException e) {
+      throw new DbSetupRuntimeException("failed to open " + source, e);
+    }
+  }
+
+  private Map<String, Class<?>> columnTypes(Connection connection) throws SQLException {
+    if (!inferColumnTypes) {
+      return columnTypes;
+    }
+    var types = resolvedTypes;
+    if (types == null) {
+      var inferred = ColumnConverter.inferTypes(connection.getMetaData(), targets.get(0));
+      inferred.putAll(columnTypes);
+      types = inferred;
+      resolvedTypes = types;
+    }
+    return types;
+  }
+
+  private RowSet typedRows(Connection connection, RowSet rows) throws SQLException {
+    var typed = typedRows;
+    if (typed == null) {
+      var converter = ColumnConverter.of(rows.columns(), columnTypes(connection));
+      var values = new ArrayList<Object[]>(rows.values().size());
+      for (var row : rows.values()) {
+        values.add(converter.convert(row));
+      }
+      typed = new RowSet(rows.columns(), values);
+      typedRows = typed;
+    }
+    return typed;
+  }
+
+  private RowLayout newLayout(List<String> headers) {
+    return new RowLayout(headers, includedColumns, excludedColumns, defaultValues, valueGenerators);
+  }
+
+  private CSVParser parse() throws IOException {
+    return CSVParser.parse(source.open(), charset, format);
+  }
+
+  private RowReader openReader(ImportStats stats) throws IOException {
+    var in = source.open(stats::counting);
+    if (!selection.hasFilter()) {
+      return new SimpleCsvReader(in, charset, format);
+    }
+    return RowReader.of(CSVParser.parse(in, charset, format));
+  }
+
+  @Nullable
+  private BulkLoadRequest bulkLoadRequest() {
+    try {
+      var file = source.plainFile();
+      if (file == null) {
+        return null;
+      }
+      List<String> columns;
+      if (format.getSkipHeaderRecord()) {
+        try (var csv = parse()) {
+          columns = csv.getHeaderNames();
+        }
+      } else {
+        columns = List.of(format.getHeader());
+      }
+      return new BulkLoadRequest(targets.get(0), file, charset, format.getDelimiterString().charAt(0),
+          format.getQuoteCharacter(), format.getNullString(), columns, format.getSkipHeaderRecord());
+    } catch (IOException e) {
+      throw new DbSetupRuntimeException("failed to open " + source, e);
+    }
+  }
+
+  private RowSet readRows(boolean cached) {
+    var event = new ImportEvent();
+    event.begin();
+    var start = System.nanoTime();
+    var read = readsWholeRows(cached) ? readAll(cached) : readSelected();
+    if (settings != null) {
+      fingerprint = computeFingerprint();
+    }
+    parseStats.parseNanos = System.nanoTime() - start;
+    parseStats.rowsParsed = read.values().size();
+    event.report(table, ImportEvent.PARSE, parseStats, parseStats.rowsParsed);
+    return read;
+  }
+
+  /**
+   * Returns whether the whole rows of the file are read before the columns are selected, so that the rows can be
+   * shared through the caches or parsed in parallel. Otherwise, the columns are selected while reading and the
+   * values of the excluded columns are dropped as soon as each row is read.
+   */
+  private boolean readsWholeRows(boolean cached) {
+    if (!selection.isAll()) {
+      return false;
+    }
+    return cached || parallelParsing || DiskCache.directory() != null && source.id() != null;
+  }
+
+  private RowSet readAll(boolean cached) {
+    try {
+      RowSet parsed;
+      if (parallelParsing && !ordered) {
+        // rows parsed out of order are not in the order of the file, so they are never shared through the caches
+        parsed = read();
+      } else {
+        CsvCache.Loader loader = () -> DiskCache.get(source, charset, format, this::read);
+        parsed = cached ? CsvCache.get(source, charset, format, loader) : loader.load();
+      }
+      var layout = newLayout(parsed.columns());
+      var converter = ColumnConverter.of(layout.columns(), columnTypes);
+      var values = new ArrayList<Object[]>(parsed.values().size());
+      for (var row : parsed.values()) {
+        values.add(converter.convert(layout.expand(row)));
+      }
+      return new RowSet(layout.columns(), values);
+    } catch (IOException e) {
+      throw new DbSetupRuntimeException("failed to open " + source, e);
+    }
+  }
+
+  private RowSet readSelected() {
+    try (var reader = openReader(parseStats)) {
+      var layout = newLayout(reader.headers());
+      var converter = ColumnConverter.of(layout.columns(), columnTypes);
+      var values = new ArrayList<Object[]>();
+      for (var row : reader.rows(selection, layout)) {
+        values.add(converter.convert(row));
+      }
+      return new RowSet(layout.columns(), values);
+    } catch (IOException e) {
+      throw new DbSetupRuntimeException("failed to open " + source, e);
+    }
+  }
+
+  private RowSet read() throws IOException {
+    if (parallelParsing) {
+      var parsed = ParallelCsvParser.parse(source, charset, format, ordered);
+      if (parsed != null) {
+        parseStats.bytesRead += Files.size(requireNonNull(source.plainFile()));
+        return parsed;
+      }
+    }
+    try (var reader = openReader(parseStats)) {
+      var headers = reader.headers();
+      var layout = new RowLayout(headers, List.of(), Set.of(), Map.of(), Map.of());
+      var values = new ArrayList<Object[]>();
+      reader.rows(RowSelection.ALL, layout).forEach(values::add);
+      return new RowSet(headers, Collections.unmodifiableList(values));
+    }
+  }
+
+  private RowWriter newWriter(Connection connection, BinderConfiguration configuration, List<String> into,
+                              List<String> columns, boolean commit) throws SQLException {
+    var writer = newWriter(connection, configuration, into, columns);
+    if (!commit || commitInterval == 0 || connection.getAutoCommit()) {
+      return writer;
+    }
+    return new CommittingWriter(writer, connection, table, commitInterval, commitListener);
+  }
+
+  private RowWriter newWriter(Connection connection, BinderConfiguration configuration, List<String> into,
+                              List<String> columns) throws SQLException {
+    var scope = BinderCache.scope(connection);
+    if (into.size() == 1) {
+      return newWriter(connection, scope, configuration, into.get(0), columns);
+    }
+    var writers = new ArrayList<RowWriter>(into.size());
+    try {
+      for (var target : into) {
+        writers.add(newWriter(connection, scope, configuration, target, columns));
+      }
+    } catch (SQLException | RuntimeException e) {
+      try {
+        FanOutWriter.close(writers);
+      } catch (SQLException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+    return new FanOutWriter(writers);
+  }
+
+  private RowWriter newWriter(Connection connection, BinderCache.@Nullable Scope scope,
+                              BinderConfiguration configuration, String table, List<String> columns)
+      throws SQLException {
+    if (maxParameters != 0) {
+      return new MultiRowWriter(connection, scope, configuration, table, columns, maxParameters, batchSize);
+    }
+    if (batchSize != 0) {
+      return new BatchWriter(connection, scope, configuration, table, columns, batchSize);
+    }
+    return new InsertWriter(connection, scope, configuration, table, columns);
   }
 
   /**
    * A builder to create the {@code Import} operation.
-   * The builder instance is created by the static method {@link Import#csv(String)}.
+   * The builder instance is created by the static methods such as {@link Import#csv(String)}.
    * <table class="striped">
    *   <caption>Settings</caption>
    *   <thead>
@@ -120,10 +793,15 @@ public final class Import implements Operation {
    *   <tbody>
    *     <tr>
    *       <th>Table for import</th>
-   *       <td>CSV file name without extension</td>
+   *       <td>CSV file name without extensions ({@code .gz} and {@code .deflate} are also stripped)</td>
    *       <td>{@link #into(String)}</td>
    *     </tr>
    *     <tr>
+   *       <th>Schemas of the table</th>
+   *       <td>Default schema of the connection</td>
+   *       <td>{@link #intoSchemas(String...)}</td>
+   *     </tr>
+   *     <tr>
    *       <th>CSV file encoding</th>
    *       <td>UTF-8</td>
    *       <td>{@link #withCharset(Charset)} or {@link #withCharset(String)}</td>
@@ -148,6 +826,73 @@ public final class Import implements Operation {
    *       <td>{@code "} (double quote)</td>
    *       <td>{@link #withQuote(char)}</td>
    *     </tr>
+   *     <tr>
+   *       <th>Cache of parsed rows</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #cached()}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Insert method</th>
+   *       <td>One {@code INSERT} statement per row</td>
+   *       <td>{@link #withBatchSize(int)} or {@link #withMultiRowValues(int)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Streaming mode</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #streaming()}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Pipelined parsing</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #withPipelineDepth(int)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Native bulk load</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #bulkLoad()}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Column types</th>
+   *       <td>None (values are bound as strings)</td>
+   *       <td>{@link #withColumnType(String, Class)}, {@link #withColumnType(String, SQLType)} or
+   *       {@link #inferColumnTypes()}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>CSV columns to import</th>
+   *       <td>All columns</td>
+   *       <td>{@link #withColumns(String...)} or {@link #excludeColumns(String...)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>CSV rows to import</th>
+   *       <td>All rows</td>
+   *       <td>{@link #skip(long)}, {@link #filter(Predicate)}, {@link #sample(double, long)} and
+   *       {@link #limit(long)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Parallel parsing</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #parallelParsing(boolean)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Listener of import metrics</th>
+   *       <td>None</td>
+   *       <td>{@link #withListener(ImportListener)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Skip of unchanged tables</th>
+   *       <td>Disabled</td>
+   *       <td>{@link #skipIfUnchanged()}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Differential import</th>
+   *       <td>Disabled (all rows are inserted)</td>
+   *       <td>{@link #mergeBy(String...)}</td>
+   *     </tr>
+   *     <tr>
+   *       <th>Intermediate commits</th>
+   *       <td>None (committed by DbSetup at the end)</td>
+   *       <td>{@link #commitEvery(long)} or {@link #commitEvery(long, CommitListener)}</td>
+   *     </tr>
    *   </tbody>
    * </table>
    *
@@ -159,7 +904,17 @@ public final class Import implements Operation {
 
     private final Map<String, ValueGenerator<?>> valueGenerators = new LinkedHashMap<>();
 
-    private final URL location;
+    private final Map<String, Class<?>> columnTypes = new HashMap<>();
+
+    private final List<String> includedColumns = new ArrayList<>();
+
+    private final Set<String> excludedColumns = new LinkedHashSet<>();
+
+    private final List<String> schemas = new ArrayList<>();
+
+    private final List<String> keyColumns = new ArrayList<>();
+
+    private final Source source;
 
     @Nullable
     private String table;
@@ -174,10 +929,49 @@ public final class Import implements Operation {
 
     private char quote = '"';
 
+    private boolean bulkLoad;
+
+    private boolean cached;
+
+    private boolean inferColumnTypes;
+
+    private boolean ordered;
+
+    private boolean parallelParsing;
+
+    private boolean skipIfUnchanged;
+
+    private boolean streaming;
+
+    private int batchSize;
+
+    private int maxParameters;
+
+    private int queueDepth;
+
+    private long skip;
+
+    private long limit = -1;
+
+    private double fraction = 1.0;
+
+    private long seed;
+
+    @Nullable
+    private Predicate<CSVRecord> filter;
+
+    @Nullable
+    private ImportListener listener;
+
+    private long commitInterval;
+
+    @Nullable
+    private CommitListener commitListener;
+
     private boolean built;
 
-    private Builder(URL location) {
-      this.location = location;
+    private Builder(Source source) {
+      this.source = source;
     }
 
     /**
@@ -190,7 +984,162 @@ public final class Import implements Operation {
         throw new IllegalStateException("already built");
       }
       built = true;
-      return new Import(this);
+      return new Import(this, null);
+    }
+
+    /**
+     * Build a new {@code Import} operation instance, reading the CSV file in the background.
+     *
+     * <p>The CSV file is read on the {@linkplain ForkJoinPool#commonPool() common pool}, and the operation waits
+     * for the reading to complete when it is executed. See {@link #buildAsync(Executor)}.</p>
+     *
+     * @return the new {@code Import} instance
+     */
+    public Import buildAsync() {
+      return buildAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build a new {@code Import} operation instance, reading the CSV file in the background.
+     *
+     * <p>The CSV file is read on the given executor, and the operation waits for the reading to complete when it
+     * is executed, so that the reading of many CSV files can overlap with each other and with the other
+     * initialization of the tests. An error while reading the file is thrown when the operation is executed.
+     * In the streaming mode, the pipelined mode and the bulk load, where the file is read when the operation is
+     * executed, this is the same as {@link #build()}.</p>
+     *
+     * @param executor the executor to read the CSV file on
+     * @return the new {@code Import} instance
+     */
+    public Import buildAsync(Executor executor) {
+      requireNonNull(executor, "executor must not be null");
+      if (built) {
+        throw new IllegalStateException("already built");
+      }
+      built = true;
+      return new Import(this, executor);
+    }
+
+    /**
+     * Enables the native bulk load of the database.
+     *
+     * <p>When enabled, the CSV file is loaded by a {@link BulkLoader} which supports the database, e.g.
+     * with {@code CSVREAD} for H2, so that the file is parsed by the database itself. The bulk load is used only if
+     * the CSV file is an uncompressed file on the file system and none of default values, generated values and
+     * the selection of the CSV columns is specified. Otherwise, or if no bulk loader supports the database, the
+     * rows are inserted with JDBC batch execution. The CSV file is read when the operation is executed, as in the
+     * streaming mode.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder bulkLoad() {
+      this.bulkLoad = true;
+      return this;
+    }
+
+    /**
+     * Enables the process-wide cache of parsed rows.
+     *
+     * <p>When enabled, the rows parsed from the CSV file are kept in {@link CsvCache} and reused by
+     * subsequent {@code Import} operations of the same CSV file with the same settings,
+     * so that the file is not read and parsed again until it is modified.
+     * The cache is not used in the streaming mode or when a selection of rows is specified.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder cached() {
+      this.cached = true;
+      return this;
+    }
+
+    /**
+     * Commits the transaction of the connection each time the given number of rows have been inserted.
+     *
+     * <p>By default, all rows are inserted in the transaction in which DbSetup executes the operations, so that a
+     * very large import makes the database hold a large amount of undo and log data until the end. With this
+     * setting, the rows inserted so far are sent to the database and committed at the given interval, which keeps
+     * the size of each transaction bounded. As a consequence, the rows committed before a failure are not rolled
+     * back, nor are the rows inserted by the preceding operations. The last rows are committed by DbSetup as usual.
+     * This applies to the rows read in advance and to the streaming mode, and is ignored if the connection is in
+     * auto-commit mode or the rows are imported by {@link ShardedImport}, {@link #bulkLoad()} or
+     * {@link #mergeBy(String...)}. The interval is counted in CSV rows, independently of
+     * {@link #withBatchSize(int)}; a multiple of the batch size avoids sending partial batches.</p>
+     *
+     * @param rows the number of rows per transaction
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code rows} is less than or equal to 0
+     */
+    public Builder commitEvery(long rows) {
+      if (rows <= 0) {
+        throw new IllegalArgumentException("rows must be greater than 0");
+      }
+      this.commitInterval = rows;
+      return this;
+    }
+
+    /**
+     * Commits the transaction of the connection each time the given number of rows have been inserted, and
+     * notifies the given listener after each commit. See {@link #commitEvery(long)}.
+     *
+     * @param rows     the number of rows per transaction
+     * @param listener the listener to notify of the progress
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code rows} is less than or equal to 0
+     */
+    public Builder commitEvery(long rows, CommitListener listener) {
+      this.commitListener = requireNonNull(listener, "listener must not be null");
+      return commitEvery(rows);
+    }
+
+    /**
+     * Specifies the CSV columns not to import.
+     *
+     * <p>The values of the excluded columns are neither kept in memory nor bound. The names which are not found
+     * in the CSV file are ignored, so that a CSV file shared by several versions of a table can be imported into
+     * each of them.</p>
+     *
+     * @param columns the column names to exclude
+     * @return the reference to this object
+     */
+    public Builder excludeColumns(String... columns) {
+      requireNonNull(columns, "columns must not be null");
+      for (var column : columns) {
+        excludedColumns.add(requireNonNull(column, "columns must not contain null"));
+      }
+      return this;
+    }
+
+    /**
+     * Specifies a condition of the CSV rows to import.
+     *
+     * <p>The rows which do not satisfy the condition are skipped before their values are copied out of the record.
+     * If specified more than once, the rows must satisfy all conditions. The condition is tested after
+     * {@link #skip(long)} and before {@link #sample(double, long)}. The rows are not cached when a selection
+     * of rows is specified.</p>
+     *
+     * @param filter the condition of the rows to import
+     * @return the reference to this object
+     */
+    public Builder filter(Predicate<CSVRecord> filter) {
+      requireNonNull(filter, "filter must not be null");
+      var current = this.filter;
+      this.filter = current == null ? filter : current.and(filter);
+      return this;
+    }
+
+    /**
+     * Enables the inference of the column types from the database metadata.
+     *
+     * <p>When enabled, the types of the columns are looked up with {@link java.sql.DatabaseMetaData#getColumns}
+     * when the operation is executed for the first time, and the values of the numeric, boolean, date-time and UUID
+     * columns are converted as if they were specified by {@link #withColumnType(String, Class)}. The types specified
+     * explicitly take precedence over the inferred ones.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder inferColumnTypes() {
+      this.inferColumnTypes = true;
+      return this;
     }
 
     /**
@@ -205,6 +1154,185 @@ public final class Import implements Operation {
       return this;
     }
 
+    /**
+     * Imports the CSV file into the table of the same name in each of the given schemas.
+     *
+     * <p>The CSV file is read only once and the same rows are inserted into {@code schema.table} for each schema,
+     * with one prepared statement per schema. The table name given by {@link #into(String)} must not be qualified
+     * with a schema in this case. The column types are inferred from the table in the first schema. If specified
+     * more than once, the schemas are added.</p>
+     *
+     * @param schemas the schema names
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code schemas} is empty
+     */
+    public Builder intoSchemas(String... schemas) {
+      requireNonNull(schemas, "schemas must not be null");
+      if (schemas.length == 0) {
+        throw new IllegalArgumentException("schemas must not be empty");
+      }
+      for (var schema : schemas) {
+        this.schemas.add(requireNonNull(schema, "schemas must not contain null"));
+      }
+      return this;
+    }
+
+    /**
+     * Specifies the maximum number of CSV rows to import.
+     *
+     * <p>The CSV file is no longer read once the given number of rows have been selected.</p>
+     *
+     * @param limit the maximum number of rows
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public Builder limit(long limit) {
+      if (limit < 0) {
+        throw new IllegalArgumentException("limit must not be negative");
+      }
+      this.limit = limit;
+      return this;
+    }
+
+    /**
+     * Applies only the differences between the CSV file and the table, matching the rows by the given key columns.
+     *
+     * <p>The rows of the table are read once and compared with the rows of the CSV file: the rows whose keys are not
+     * in the CSV file are deleted, the rows whose values differ are updated and the rows of the CSV file which are
+     * not in the table are inserted. The other rows are not touched, which is faster than deleting and inserting
+     * all rows when most of a large table is unchanged. The table columns which are not in the CSV file are not
+     * compared. On H2, the updated and inserted rows are written with {@code MERGE} statements. The rows of the CSV
+     * file are held in memory even in the streaming mode, and {@link #bulkLoad()} has no effect. If specified more
+     * than once, the key columns are added.</p>
+     *
+     * @param keyColumns the columns which identify a row, which must be in the CSV file
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code keyColumns} is empty
+     */
+    public Builder mergeBy(String... keyColumns) {
+      requireNonNull(keyColumns, "keyColumns must not be null");
+      if (keyColumns.length == 0) {
+        throw new IllegalArgumentException("keyColumns must not be empty");
+      }
+      for (var column : keyColumns) {
+        this.keyColumns.add(requireNonNull(column, "keyColumns must not contain null"));
+      }
+      return this;
+    }
+
+    /**
+     * Parses a large CSV file in parallel on the common fork-join pool.
+     *
+     * <p>The file is split into chunks at line breaks and the chunks are tokenized concurrently by the built-in
+     * tokenizer described in {@link Import}. This applies only when the rows are read at {@link #build()} without
+     * a row selection, and only to an uncompressed file on the default file system encoded in a charset which encodes
+     * a line feed as a single byte, such as UTF-8. Files smaller than 2 MiB and files containing the quotation
+     * mark, whose quoted values may contain line breaks, are read serially.</p>
+     *
+     * <p>The rows parsed with {@code ordered} set to {@code false} are neither kept in {@link CsvCache} nor
+     * persisted in the cache directory.</p>
+     *
+     * @param ordered {@code true} to import the rows in the order of the file, {@code false} to allow the chunks to
+     *                be imported in the order they are parsed
+     * @return the reference to this object
+     */
+    public Builder parallelParsing(boolean ordered) {
+      this.parallelParsing = true;
+      this.ordered = ordered;
+      return this;
+    }
+
+    /**
+     * Imports a random sample of the CSV rows.
+     *
+     * <p>Each row is selected with the given probability. The selection depends only on the seed and the position
+     * of the row in the CSV file, so the same seed selects the same rows on every run.</p>
+     *
+     * @param fraction the probability that a row is selected, between 0 and 1
+     * @param seed     the seed of the sampling
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code fraction} is not between 0 and 1
+     */
+    public Builder sample(double fraction, long seed) {
+      if (!(fraction >= 0.0 && fraction <= 1.0)) {
+        throw new IllegalArgumentException("fraction must be between 0 and 1");
+      }
+      this.fraction = fraction;
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Specifies the number of CSV rows to skip at the beginning of the file, not counting the header.
+     *
+     * @param skip the number of rows to skip
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code skip} is negative
+     */
+    public Builder skip(long skip) {
+      if (skip < 0) {
+        throw new IllegalArgumentException("skip must not be negative");
+      }
+      this.skip = skip;
+      return this;
+    }
+
+    /**
+     * Skips the import if the table already holds the rows of the same CSV file.
+     *
+     * <p>When enabled, a fingerprint of the CSV file content and of the settings which affect the imported rows
+     * is recorded for the table in the bookkeeping table {@code dbsetup_csv_fingerprint}, which is created in the
+     * default schema if it does not exist, together with the number of rows of the table after the import. When the
+     * operation is executed, if the recorded fingerprint matches and the table still has the recorded number of
+     * rows, nothing is inserted. Otherwise the rows are imported as without this setting: the table is not cleared
+     * by this operation, so an operation which deletes the rows of the table must precede it if the table may hold
+     * other rows. With {@link #mergeBy(String...)}, the differences are applied instead.</p>
+     *
+     * <p>A preceding operation which deletes the rows of the table changes the number of rows, so the rows are
+     * imported again. Therefore the import is skipped only if nothing deletes the rows between the executions, which
+     * is intended for the tables which the tests only read. The rows modified in the table by anything else than
+     * this operation without changing their number are not detected. The value generators and the row filter are
+     * identified by their classes only. This has no effect if the CSV file is read from a channel, which cannot be
+     * read more than once.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder skipIfUnchanged() {
+      this.skipIfUnchanged = true;
+      return this;
+    }
+
+    /**
+     * Enables the streaming mode.
+     *
+     * <p>By default, the CSV file is read when {@link #build()} is called and all rows are held in memory
+     * until the operation is discarded. In the streaming mode, the CSV file is read each time the operation is
+     * executed and the rows are inserted as they are read, so the memory usage does not depend on the file size.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder streaming() {
+      this.streaming = true;
+      return this;
+    }
+
+    /**
+     * Specifies the number of rows to send to the database at once with JDBC batch execution.
+     *
+     * <p>By default, the rows are inserted one by one with a separate {@code INSERT} statement execution.</p>
+     *
+     * @param batchSize the number of rows per batch
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code batchSize} is not positive
+     */
+    public Builder withBatchSize(int batchSize) {
+      if (batchSize <= 0) {
+        throw new IllegalArgumentException("batchSize must be greater than 0");
+      }
+      this.batchSize = batchSize;
+      return this;
+    }
+
     /**
      * Specifies a character encoding to read the CSV file.
      *
@@ -232,6 +1360,64 @@ public final class Import implements Operation {
       return this;
     }
 
+    /**
+     * Specifies the Java type to convert the values of the given column into.
+     *
+     * <p>The values are converted once when they are read, so that they are bound as typed values instead of
+     * strings. The supported types are {@code String}, {@code Integer}, {@code Long}, {@code Short}, {@code Byte},
+     * {@code BigDecimal}, {@code BigInteger}, {@code Double}, {@code Float}, {@code Boolean}, {@code LocalDate},
+     * {@code LocalTime}, {@code LocalDateTime}, {@code OffsetDateTime}, {@code OffsetTime}, {@code Instant} and
+     * {@code UUID}. The date-time values are in the ISO-8601 format, where a space may separate the date and
+     * the time. The column name is case-insensitive.</p>
+     *
+     * @param column the column name
+     * @param type   the Java type
+     * @return the reference to this object
+     * @throws IllegalArgumentException if the type is not supported
+     */
+    public Builder withColumnType(String column, Class<?> type) {
+      requireNonNull(column, "column must not be null");
+      requireNonNull(type, "type must not be null");
+      ColumnConverter.checkSupported(type);
+      columnTypes.put(ColumnConverter.key(column), type);
+      return this;
+    }
+
+    /**
+     * Specifies the SQL type of the given column to convert its values into the corresponding Java type.
+     *
+     * <p>For example, {@link java.sql.JDBCType#DATE} is converted into {@code LocalDate} and
+     * {@link java.sql.JDBCType#DECIMAL} into {@code BigDecimal}. See {@link #withColumnType(String, Class)}.</p>
+     *
+     * @param column the column name
+     * @param type   the SQL type
+     * @return the reference to this object
+     * @throws IllegalArgumentException if the type is not supported
+     */
+    public Builder withColumnType(String column, SQLType type) {
+      requireNonNull(type, "type must not be null");
+      return withColumnType(column, ColumnConverter.javaType(type));
+    }
+
+    /**
+     * Specifies the CSV columns to import.
+     *
+     * <p>By default, all columns of the CSV file are imported. When specified, only the given columns are imported,
+     * in the order of the CSV file, and the values of the other columns are neither kept in memory nor bound.</p>
+     *
+     * @param columns the column names to import
+     * @return the reference to this object
+     * @throws IllegalArgumentException if a column is not found in the CSV file when the operation is built or
+     *                                  executed
+     */
+    public Builder withColumns(String... columns) {
+      requireNonNull(columns, "columns must not be null");
+      for (var column : columns) {
+        includedColumns.add(requireNonNull(column, "columns must not contain null"));
+      }
+      return this;
+    }
+
     /**
      * Specifies a default value for the given column.
      *
@@ -309,6 +1495,39 @@ public final class Import implements Operation {
       return this;
     }
 
+    /**
+     * Specifies a listener which receives the metrics of each execution of the operation.
+     *
+     * <p>The operation also records a JDK Flight Recorder event named {@code com.sciencesakura.dbsetup.csv.Import}
+     * for each of its phases, whether a listener is specified or not.</p>
+     *
+     * @param listener the listener
+     * @return the reference to this object
+     */
+    public Builder withListener(ImportListener listener) {
+      this.listener = requireNonNull(listener, "listener must not be null");
+      return this;
+    }
+
+    /**
+     * Inserts several rows with a single {@code INSERT INTO ... VALUES (...), (...), ...} statement.
+     *
+     * <p>Each statement contains as many rows as possible without exceeding the given number of parameters
+     * (at least one row). When {@link #withBatchSize(int)} is also specified, the statements are sent
+     * with JDBC batch execution.</p>
+     *
+     * @param maxParameters the maximum number of parameters per statement
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code maxParameters} is not positive
+     */
+    public Builder withMultiRowValues(int maxParameters) {
+      if (maxParameters <= 0) {
+        throw new IllegalArgumentException("maxParameters must be greater than 0");
+      }
+      this.maxParameters = maxParameters;
+      return this;
+    }
+
     /**
      * Specifies a string to represent null values in the CSV file.
      *
@@ -322,6 +1541,26 @@ public final class Import implements Operation {
       return this;
     }
 
+    /**
+     * Enables the pipelined streaming mode.
+     *
+     * <p>In this mode, the CSV file is parsed on a background thread while the rows already parsed are inserted,
+     * so that the parsing overlaps with the round-trips to the database. The rows are handed over in batches of
+     * {@link #withBatchSize(int) the batch size} rows, or 1000 rows if the batch size is not specified, and at most
+     * {@code queueDepth} batches are held in memory. This implies {@link #streaming()}.</p>
+     *
+     * @param queueDepth the maximum number of batches waiting to be inserted
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code queueDepth} is not positive
+     */
+    public Builder withPipelineDepth(int queueDepth) {
+      if (queueDepth <= 0) {
+        throw new IllegalArgumentException("queueDepth must be greater than 0");
+      }
+      this.queueDepth = queueDepth;
+      return this;
+    }
+
     /**
      * Specifies a quotation mark to enclose values in the CSV file.
      *
@@ -339,13 +1578,12 @@ public final class Import implements Operation {
       if (table != null) {
         return table;
       }
-      try {
-        var filename = Path.of(location.toURI()).getFileName().toString();
-        var p = filename.lastIndexOf('.');
-        return p == -1 ? filename : filename.substring(0, p);
-      } catch (URISyntaxException e) {
-        throw new DbSetupRuntimeException(e);
+      var filename = source.baseName();
+      if (filename == null) {
+        throw new IllegalStateException("table must be specified for " + source);
       }
+      var p = filename.lastIndexOf('.');
+      return p == -1 ? filename : filename.substring(0, p);
     }
   }
 }
@@ -0,0 +1,67 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A JDK Flight Recorder event which is recorded for each phase of an {@link Import} operation.
+ *
+ * <p>The phases are {@code parse} (reading the CSV file when the operation is built), {@code insert} (inserting
+ * the rows read in advance), {@code stream} (reading and inserting the rows in the streaming mode),
+ * {@code bulkLoad}, {@code merge} (applying the differences from the table) and {@code skip} (the table holds the rows
+ * already).</p>
+ *
+ * <p>The {@code jdk.jfr} module is optional: if it is not available at runtime, nothing is recorded.</p>
+ */
+final class ImportEvent {
+
+  static final String PARSE = "parse";
+
+  static final String INSERT = "insert";
+
+  static final String STREAM = "stream";
+
+  static final String BULK_LOAD = "bulkLoad";
+
+  static final String MERGE = "merge";
+
+  static final String SKIP = "skip";
+
+  private static final boolean AVAILABLE = isAvailable();
+
+  @Nullable
+  private final JfrImportEvent event = AVAILABLE ? new JfrImportEvent() : null;
+
+  /**
+   * Starts the timing of this event.
+   */
+  void begin() {
+    if (event != null) {
+      event.begin();
+    }
+  }
+
+  /**
+   * Ends this event and commits it if it is enabled.
+   *
+   * @param table the table name
+   * @param phase the phase
+   * @param stats the counters of the phase
+   * @param rows  the number of rows processed in the phase
+   */
+  void report(String table, String phase, ImportStats stats, long rows) {
+    if (event != null) {
+      event.report(table, phase, stats, rows);
+    }
+  }
+
+  private static boolean isAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, ImportEvent.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
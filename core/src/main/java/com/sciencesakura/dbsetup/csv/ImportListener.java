@@ -0,0 +1,23 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+/**
+ * A listener which is notified each time an {@link Import} operation has been executed.
+ *
+ * @author sciencesakura
+ * @see Import.Builder#withListener(ImportListener)
+ */
+@FunctionalInterface
+public interface ImportListener {
+
+  /**
+   * Called after the rows have been imported.
+   *
+   * <p>The listener is called on the thread which executed the operation and is not called if the operation has
+   * failed.</p>
+   *
+   * @param metrics the metrics of the import
+   */
+  void imported(ImportMetrics metrics);
+}
@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.time.Duration;
+
+/**
+ * The metrics of an execution of an {@link Import} operation.
+ *
+ * <p>In the default mode, the CSV file is read when the operation is built; the metrics of the reading, such as
+ * {@link #bytesRead()} and {@link #parseTime()}, are those of the build and are reported on every execution.
+ * {@link #bytesRead()} is 0 when the rows have been taken from a cache.</p>
+ *
+ * @author sciencesakura
+ */
+public final class ImportMetrics {
+
+  private final String table;
+
+  private final long bytesRead;
+
+  private final long rowsParsed;
+
+  private final Duration parseTime;
+
+  private final Duration insertTime;
+
+  private final long batchesExecuted;
+
+  private final long rowsInserted;
+
+  private final long rowsUpdated;
+
+  private final long rowsDeleted;
+
+  private final Duration elapsedTime;
+
+  ImportMetrics(String table, ImportStats stats, long elapsedNanos) {
+    this.table = table;
+    this.bytesRead = stats.bytesRead;
+    this.rowsParsed = stats.rowsParsed;
+    this.parseTime = Duration.ofNanos(stats.parseNanos);
+    this.insertTime = Duration.ofNanos(stats.insertNanos);
+    this.batchesExecuted = stats.batches;
+    this.rowsInserted = stats.rowsInserted;
+    this.rowsUpdated = stats.rowsUpdated;
+    this.rowsDeleted = stats.rowsDeleted;
+    this.elapsedTime = Duration.ofNanos(elapsedNanos);
+  }
+
+  /**
+   * Returns the table name which the rows have been imported into.
+   *
+   * @return the table name
+   */
+  public String table() {
+    return table;
+  }
+
+  /**
+   * Returns the number of bytes read from the CSV file, before decompression.
+   *
+   * @return the number of bytes read
+   */
+  public long bytesRead() {
+    return bytesRead;
+  }
+
+  /**
+   * Returns the number of rows parsed from the CSV file, after the rows to import have been selected.
+   *
+   * @return the number of rows parsed
+   */
+  public long rowsParsed() {
+    return rowsParsed;
+  }
+
+  /**
+   * Returns the time spent opening, decoding and parsing the CSV file.
+   *
+   * @return the parse time
+   */
+  public Duration parseTime() {
+    return parseTime;
+  }
+
+  /**
+   * Returns the time spent sending the rows to the database.
+   *
+   * @return the insert time
+   */
+  public Duration insertTime() {
+    return insertTime;
+  }
+
+  /**
+   * Returns the number of statements or JDBC batches sent to the database.
+   *
+   * @return the number of batches executed
+   */
+  public long batchesExecuted() {
+    return batchesExecuted;
+  }
+
+  /**
+   * Returns the number of rows inserted into the table.
+   *
+   * <p>When the rows are merged by {@code mergeBy(...)}, this is the number of new rows only; the changed rows and
+   * the missing rows are counted by {@link #rowsUpdated()} and {@link #rowsDeleted()}.</p>
+   *
+   * @return the number of rows inserted
+   */
+  public long rowsInserted() {
+    return rowsInserted;
+  }
+
+  /**
+   * Returns the number of rows updated because they differ from the CSV file, when the rows are merged by
+   * {@code mergeBy(...)}.
+   *
+   * @return the number of rows updated, or 0 if the rows are not merged
+   */
+  public long rowsUpdated() {
+    return rowsUpdated;
+  }
+
+  /**
+   * Returns the number of rows deleted because they are missing from the CSV file, when the rows are merged by
+   * {@code mergeBy(...)}.
+   *
+   * @return the number of rows deleted, or 0 if the rows are not merged
+   */
+  public long rowsDeleted() {
+    return rowsDeleted;
+  }
+
+  /**
+   * Returns the time taken by the execution of the operation.
+   *
+   * @return the elapsed time
+   */
+  public Duration elapsedTime() {
+    return elapsedTime;
+  }
+
+  /**
+   * Returns the number of rows inserted per second of the execution of the operation.
+   *
+   * @return the rows per second, or 0 if no row has been inserted
+   */
+  public double rowsPerSecond() {
+    var nanos = elapsedTime.toNanos();
+    return rowsInserted == 0 || nanos == 0 ? 0.0 : rowsInserted * 1e9 / nanos;
+  }
+
+  @Override
+  public String toString() {
+    return "ImportMetrics{table=" + table + ", bytesRead=" + bytesRead + ", rowsParsed=" + rowsParsed
+        + ", parseTime=" + parseTime + ", insertTime=" + insertTime + ", batchesExecuted=" + batchesExecuted
+        + ", rowsInserted=" + rowsInserted + ", rowsUpdated=" + rowsUpdated + ", rowsDeleted=" + rowsDeleted
+        + ", elapsedTime=" + elapsedTime + '}';
+  }
+}
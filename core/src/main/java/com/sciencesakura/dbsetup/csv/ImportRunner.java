@@ -0,0 +1,214 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static java.util.Objects.requireNonNull;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.destination.DataSourceDestination;
+import com.ninja_squad.dbsetup.destination.Destination;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A runner which imports a set of CSV files concurrently over several connections.
+ *
+ * <p>The tables of an {@link ImportSet} are split into levels by their foreign keys. The tables of a level do not
+ * reference each other, so they are imported concurrently by several workers, each of which has its own
+ * connection. The next level starts when all tables of the current level have been imported and committed.</p>
+ * <pre>{@code
+ * var runner = ImportRunner.to(dataSource).withParallelism(4).build();
+ * runner.launch(csvDirectory("fixtures").build());
+ * }</pre>
+ *
+ * <p>Unlike {@link com.ninja_squad.dbsetup.DbSetup}, the whole import is not done in a single transaction:
+ * each worker commits its connection at the end of each level, or after each table if
+ * {@link Builder#commitPerTable()} is specified.</p>
+ *
+ * @author sciencesakura
+ */
+public final class ImportRunner {
+
+  /**
+   * Creates a new {@code ImportRunner.Builder} instance.
+   *
+   * @param destination the destination to get the connections from
+   * @return the new {@code ImportRunner.Builder} instance
+   */
+  public static Builder to(Destination destination) {
+    return new Builder(requireNonNull(destination, "destination must not be null"));
+  }
+
+  /**
+   * Creates a new {@code ImportRunner.Builder} instance.
+   *
+   * @param dataSource the data source to get the connections from
+   * @return the new {@code ImportRunner.Builder} instance
+   */
+  public static Builder to(DataSource dataSource) {
+    return to(new DataSourceDestination(requireNonNull(dataSource, "dataSource must not be null")));
+  }
+
+  private final Destination destination;
+
+  private final BinderConfiguration configuration;
+
+  private final int parallelism;
+
+  @Nullable
+  private final ExecutorService executor;
+
+  private final boolean commitPerTable;
+
+  private ImportRunner(Builder builder) {
+    destination = builder.destination;
+    configuration = builder.configuration;
+    parallelism = builder.parallelism;
+    executor = builder.executor;
+    commitPerTable = builder.commitPerTable;
+  }
+
+  /**
+   * Imports the given set of CSV files.
+   *
+   * @param importSet the set of CSV files to import
+   * @throws DbSetupRuntimeException if a database access error occurs
+   */
+  public void launch(ImportSet importSet) {
+    requireNonNull(importSet, "importSet must not be null");
+    Workers.launch(executor, parallelism, "dbsetup-csv-import", (connections, service) -> {
+      var first = Workers.open(destination, connections);
+      for (var level : importSet.levels(first)) {
+        runLevel(level, connections, service);
+      }
+    });
+  }
+
+  private void runLevel(List<Import> level, List<Connection> connections, ExecutorService service)
+      throws SQLException {
+    var workers = Math.min(parallelism, level.size());
+    while (connections.size() < workers) {
+      Workers.open(destination, connections);
+    }
+    var queue = new ConcurrentLinkedQueue<>(level);
+    var futures = new ArrayList<Future<?>>(workers);
+    for (var w = 0; w < workers; w++) {
+      var connection = connections.get(w);
+      futures.add(service.submit(() -> {
+        Import operation;
+        while ((operation = queue.poll()) != null) {
+          operation.execute(connection, configuration);
+          if (commitPerTable) {
+            connection.commit();
+          }
+        }
+        return null;
+      }));
+    }
+    Workers.await(futures);
+    if (!commitPerTable) {
+      for (var w = 0; w < workers; w++) {
+        connections.get(w).commit();
+      }
+    }
+  }
+
+  /**
+   * A builder to create the {@code ImportRunner}.
+   * The builder instance is created by the static methods {@link ImportRunner#to(Destination)} and
+   * {@link ImportRunner#to(DataSource)}.
+   *
+   * @author sciencesakura
+   */
+  public static final class Builder {
+
+    private final Destination destination;
+
+    private BinderConfiguration configuration = DefaultBinderConfiguration.INSTANCE;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    @Nullable
+    private ExecutorService executor;
+
+    private boolean commitPerTable;
+
+    private Builder(Destination destination) {
+      this.destination = destination;
+    }
+
+    /**
+     * Build a new {@code ImportRunner} instance.
+     *
+     * @return the new {@code ImportRunner} instance
+     */
+    public ImportRunner build() {
+      return new ImportRunner(this);
+    }
+
+    /**
+     * Commits each table as soon as it has been imported.
+     *
+     * <p>By default, the tables are committed when all tables of the same level have been imported.</p>
+     *
+     * @return the reference to this object
+     */
+    public Builder commitPerTable() {
+      this.commitPerTable = true;
+      return this;
+    }
+
+    /**
+     * Specifies a binder configuration to bind the values.
+     *
+     * <p>By default, {@link DefaultBinderConfiguration#INSTANCE} is used.</p>
+     *
+     * @param configuration the binder configuration
+     * @return the reference to this object
+     */
+    public Builder withBinderConfiguration(BinderConfiguration configuration) {
+      this.configuration = requireNonNull(configuration, "configuration must not be null");
+      return this;
+    }
+
+    /**
+     * Specifies an executor to run the workers, e.g. a virtual-thread-per-task executor.
+     *
+     * <p>By default, a fixed thread pool is created for each launch. The given executor is not shut down
+     * by the runner.</p>
+     *
+     * @param executor the executor
+     * @return the reference to this object
+     */
+    public Builder withExecutor(ExecutorService executor) {
+      this.executor = requireNonNull(executor, "executor must not be null");
+      return this;
+    }
+
+    /**
+     * Specifies the number of workers, which is also the maximum number of connections.
+     *
+     * <p>By default, the number of available processors is used.</p>
+     *
+     * @param parallelism the number of workers
+     * @return the reference to this object
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public Builder withParallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException("parallelism must be greater than 0");
+      }
+      this.parallelism = parallelism;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static java.util.Objects.requireNonNull;
+
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.operation.Operation;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * An operation which imports a set of CSV files into the database.
+ *
+ * <p>The CSV files are parsed in parallel when the operation is built. When the operation is executed,
+ * the tables are imported in the order given by the foreign keys read from {@link java.sql.DatabaseMetaData},
+ * so that a referenced table is imported before the tables referencing it.</p>
+ * <pre>{@code
+ * var operation = ImportSet.of(csv("items.csv"), csv("orders.csv")).build();
+ * // or, all CSV/TSV files in a classpath directory:
+ * var operation = csvDirectory("fixtures").build();
+ * }</pre>
+ *
+ * @author sciencesakura
+ */
+public final class ImportSet implements Operation {
+
+  /**
+   * Creates a new {@code ImportSet.Builder} instance.
+   *
+   * @param builders the builders of the {@code Import} operations
+   * @return the new {@code ImportSet.Builder} instance
+   */
+  public static Builder of(Import.Builder... builders) {
+    requireNonNull(builders, "builders must not be null");
+    return of(Arrays.asList(builders));
+  }
+
+  /**
+   * Creates a new {@code ImportSet.Builder} instance.
+   *
+   * @param builders the builders of the {@code Import} operations
+   * @return the new {@code ImportSet.Builder} instance
+   */
+  public static Builder of(Collection<Import.Builder> builders) {
+    requireNonNull(builders, "builders must not be null");
+    var list = new ArrayList<Import.Builder>(builders.size());
+    for (var builder : builders) {
+      list.add(requireNonNull(builder, "builders must not contain null"));
+    }
+    return new Builder(list);
+  }
+
+  private final List<Import> imports;
+
+  private ImportSet(List<Import> imports) {
+    this.imports = imports;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute(Connection connection, BinderConfiguration configuration) throws SQLException {
+    for (var level : levels(connection)) {
+      for (var operation : level) {
+        operation.execute(connection, configuration);
+      }
+    }
+  }
+
+  /**
+   * Returns the {@code Import} operations of this set split into the levels given by the foreign keys.
+   *
+   * @param connection the connection to read the foreign keys
+   * @return the levels of the operations
+   * @throws SQLException if a database access error occurs
+   */
+  List<List<Import>> levels(Connection connection) throws SQLException {
+    return TableDependencies.levels(connection.getMetaData(), imports, Import::table);
+  }
+
+  /**
+   * A builder to create the {@code ImportSet} operation.
+   * The builder instance is created by the static methods {@link ImportSet#of(Import.Builder...)},
+   * {@link ImportSet#of(Collection)} and {@link Import#csvDirectory(String)}.
+   *
+   * @author sciencesakura
+   */
+  public static final class Builder {
+
+    private final List<Import.Builder> builders;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private boolean built;
+
+    private Builder(List<Import.Builder> builders) {
+      this.builders = builders;
+    }
+
+    /**
+     * Build a new {@code ImportSet} operation instance, parsing the CSV files in parallel.
+     *
+     * @return the new {@code ImportSet} instance
+     */
+    public ImportSet build() {
+      if (built) {
+        throw new IllegalStateException("already built");
+      }
+      built = true;
+      var tasks = new ArrayList<ForkJoinTask<Import>>(builders.size());
+      for (var builder : builders) {
+        tasks.add(pool.submit(builder::build));
+      }
+      var imports = new ArrayList<Import>(tasks.size());
+      for (var task : tasks) {
+        imports.add(task.join());
+      }
+      return new ImportSet(Collections.unmodifiableList(imports));
+    }
+
+    /**
+     * Applies the given configuration to each {@code Import.Builder} of this set.
+     *
+     * @param configure the configuration to apply
+     * @return the reference to this object
+     */
+    public Builder configureEach(Consumer<Import.Builder> configure) {
+      requireNonNull(configure, "configure must not be null");
+      builders.forEach(configure);
+      return this;
+    }
+
+    /**
+     * Specifies a fork-join pool to parse the CSV files.
+     *
+     * <p>By default, the common pool is used.</p>
+     *
+     * @param pool the fork-join pool
+     * @return the reference to this object
+     */
+    public Builder withPool(ForkJoinPool pool) {
+      this.pool = requireNonNull(pool, "pool must not be null");
+      return this;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Mutable counters collected while a CSV file is read and its rows are inserted.
+ *
+ * <p>The counters are not synchronized; they are updated by one thread at a time and read after that thread has
+ * handed its work over.</p>
+ */
+final class ImportStats {
+
+  long bytesRead;
+
+  long rowsParsed;
+
+  long parseNanos;
+
+  long insertNanos;
+
+  long batches;
+
+  long rowsInserted;
+
+  long rowsUpdated;
+
+  long rowsDeleted;
+
+  /**
+   * Adds the counters of the reading of the CSV file.
+   *
+   * @param parsed the counters collected when the CSV file was read
+   */
+  void addParsed(ImportStats parsed) {
+    bytesRead += parsed.bytesRead;
+    rowsParsed += parsed.rowsParsed;
+    parseNanos += parsed.parseNanos;
+  }
+
+  /**
+   * Returns an input stream which counts the bytes read from the given one.
+   *
+   * @param in the input stream to count
+   * @return the counting input stream
+   */
+  InputStream counting(InputStream in) {
+    return new FilterInputStream(in) {
+
+      @Override
+      public int read() throws IOException {
+        var b = super.read();
+        if (b != -1) {
+          bytesRead++;
+        }
+        return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        var n = super.read(b, off, len);
+        if (n > 0) {
+          bytesRead += n;
+        }
+        return n;
+      }
+
+      @Override
+      public long skip(long n) throws IOException {
+        var skipped = super.skip(n);
+        bytesRead += skipped;
+        return skipped;
+      }
+    };
+  }
+}
@@ -0,0 +1,57 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RowWriter} which executes one {@code INSERT} statement per row, in the same way as DbSetup's
+ * {@code Insert} operation does, with the binders taken from the {@link BinderCache}.
+ */
+final class InsertWriter implements RowWriter {
+
+  private final PreparedStatement statement;
+
+  private final Binder[] binders;
+
+  private long batches;
+
+  InsertWriter(Connection connection, BinderCache.@Nullable Scope scope, BinderConfiguration configuration, String table,
+               List<String> columns) throws SQLException {
+    statement = connection.prepareStatement(Statements.insertSql(table, columns, 1));
+    try {
+      binders = BinderCache.get(scope, statement, table, columns, configuration);
+    } catch (SQLException | RuntimeException e) {
+      statement.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void write(Object[] values) throws SQLException {
+    Statements.bind(statement, binders, 0, values);
+    statement.executeUpdate();
+    batches++;
+  }
+
+  @Override
+  public void flush() {
+    // every row has already been executed
+  }
+
+  @Override
+  public long batches() {
+    return batches;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    statement.close();
+  }
+}
@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The JDK Flight Recorder event behind {@link ImportEvent}.
+ *
+ * <p>This class is loaded only if the {@code jdk.jfr} module is available.</p>
+ */
+@Name("com.sciencesakura.dbsetup.csv.Import")
+@Label("CSV Import")
+@Category({"DbSetup", "CSV"})
+@Description("A phase of importing a CSV file into a table")
+@StackTrace(false)
+final class JfrImportEvent extends Event {
+
+  @Label("Table")
+  @Nullable
+  String table;
+
+  @Label("Phase")
+  @Nullable
+  String phase;
+
+  @Label("Bytes Read")
+  @DataAmount
+  long bytesRead;
+
+  @Label("Rows")
+  long rows;
+
+  @Label("Batches")
+  long batches;
+
+  /**
+   * Ends this event and commits it if it is enabled.
+   *
+   * @param table the table name
+   * @param phase the phase
+   * @param stats the counters of the phase
+   * @param rows  the number of rows processed in the phase
+   */
+  void report(String table, String phase, ImportStats stats, long rows) {
+    end();
+    if (!shouldCommit()) {
+      return;
+    }
+    this.table = table;
+    this.phase = phase;
+    this.bytesRead = stats.bytesRead;
+    this.rows = rows;
+    this.batches = stats.batches;
+    commit();
+  }
+}
@@ -0,0 +1,120 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RowWriter} which inserts several rows with a single {@code INSERT INTO ... VALUES (...), (...)}
+ * statement.
+ *
+ * <p>The number of rows per statement is chosen so that the statement has at most the given number of
+ * parameters. When a batch size is given, the statements are in turn sent with JDBC batch execution.</p>
+ */
+final class MultiRowWriter implements RowWriter {
+
+  private final Connection connection;
+
+  private final BinderCache.@Nullable Scope scope;
+
+  private final BinderConfiguration configuration;
+
+  private final String table;
+
+  private final List<String> columns;
+
+  private final Object[][] buffer;
+
+  private final int batchSize;
+
+  @Nullable
+  private PreparedStatement statement;
+
+  private Binder @Nullable [] binders;
+
+  private int count;
+
+  private int batched;
+
+  private long batches;
+
+  MultiRowWriter(Connection connection, BinderCache.@Nullable Scope scope, BinderConfiguration configuration,
+                 String table, List<String> columns, int maxParameters, int batchSize) {
+    this.connection = connection;
+    this.scope = scope;
+    this.configuration = configuration;
+    this.table = table;
+    this.columns = columns;
+    this.buffer = new Object[Math.max(1, maxParameters / Math.max(1, columns.size()))][];
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void write(Object[] values) throws SQLException {
+    buffer[count++] = values;
+    if (count < buffer.length) {
+      return;
+    }
+    if (statement == null) {
+      statement = connection.prepareStatement(Statements.insertSql(table, columns, buffer.length));
+    }
+    bindBuffer(statement);
+    count = 0;
+    if (batchSize == 0) {
+      statement.executeUpdate();
+      batches++;
+    } else {
+      statement.addBatch();
+      if (++batched == batchSize) {
+        batched = 0;
+        statement.executeBatch();
+        batches++;
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    if (batched != 0 && statement != null) {
+      batched = 0;
+      statement.executeBatch();
+      batches++;
+    }
+    if (count == 0) {
+      return;
+    }
+    try (var tail = connection.prepareStatement(Statements.insertSql(table, columns, count))) {
+      bindBuffer(tail);
+      count = 0;
+      tail.executeUpdate();
+      batches++;
+    }
+  }
+
+  @Override
+  public long batches() {
+    return batches;
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (statement != null) {
+      statement.close();
+    }
+  }
+
+  private void bindBuffer(PreparedStatement target) throws SQLException {
+    if (binders == null) {
+      binders = BinderCache.get(scope, target, table, columns, configuration);
+    }
+    for (var r = 0; r < count; r++) {
+      Statements.bind(target, binders, r * binders.length, buffer[r]);
+    }
+  }
+}
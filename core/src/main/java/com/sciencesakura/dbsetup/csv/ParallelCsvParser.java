@@ -0,0 +1,240 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Parses a large CSV file in chunks on the common fork-join pool.
+ *
+ * <p>The file is split at line breaks and each chunk is tokenized by a {@link SimpleCsvReader}. This is safe only if
+ * no value contains a line break, so the file is parsed in parallel only if it contains no quotation mark at all;
+ * otherwise {@link #parse} returns {@code null} and the caller reads the file serially. The line breaks are
+ * searched as bytes, so only the charsets which encode a line feed as the single byte {@code 0x0A} and never use
+ * that byte in another character are supported.</p>
+ */
+final class ParallelCsvParser {
+
+  private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+
+  private static final long MAX_CHUNK_SIZE = Integer.MAX_VALUE;
+
+  private static final int SCAN_SIZE = 8 * 1024;
+
+  private ParallelCsvParser() {
+  }
+
+  /**
+   * Parses the given CSV file in parallel.
+   *
+   * @param source  the source of the CSV file
+   * @param charset the encoding of the CSV file
+   * @param format  the format of the CSV file
+   * @param ordered whether the rows must be in the order of the file
+   * @return the rows, or {@code null} if the file cannot be parsed in parallel
+   * @throws IOException if an I/O error occurs
+   */
+  @Nullable
+  static RowSet parse(Source source, Charset charset, CSVFormat format, boolean ordered) throws IOException {
+    var quote = format.getQuoteCharacter();
+    if (quote == null || quote >= 0x80 || !splittable(charset)) {
+      return null;
+    }
+    var file = source.plainFile();
+    if (file == null) {
+      return null;
+    }
+    var pool = ForkJoinPool.commonPool();
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      var size = channel.size();
+      var count = Math.min((long) pool.getParallelism() * 4, size / MIN_CHUNK_SIZE);
+      count = Math.max(count, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+      if (count < 2) {
+        return null;
+      }
+      var bounds = bounds(channel, size, (int) count);
+      var headers = headers(file, charset, format);
+      var rest = format.builder().setHeader(headers.toArray(new String[0])).setSkipHeaderRecord(false).get();
+      // map every chunk before submitting any task: the mappings stay valid after the channel is closed, so the
+      // tasks still running when join() gives up never touch the channel
+      var chunks = new ByteBuffer[bounds.length - 1];
+      for (var i = 0; i < chunks.length; i++) {
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+      }
+      var service = new ExecutorCompletionService<Chunk>(pool);
+      var futures = new ArrayList<Future<Chunk>>(chunks.length);
+      for (var i = 0; i < chunks.length; i++) {
+        var index = i;
+        var chunkFormat = i == 0 ? format : rest;
+        futures.add(service.submit(() -> parseChunk(index, chunks[index], charset, chunkFormat, quote.charValue(),
+            headers)));
+      }
+      return join(service, futures, headers, ordered);
+    }
+  }
+
+  private static boolean splittable(Charset charset) {
+    if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+        || charset.equals(StandardCharsets.ISO_8859_1)) {
+      return true;
+    }
+    if (!charset.canEncode()) {
+      return false;
+    }
+    var lf = "\n".getBytes(charset);
+    return lf.length == 1 && lf[0] == '\n' && charset.newEncoder().maxBytesPerChar() == 1.0f;
+  }
+
+  private static List<String> headers(Path file, Charset charset, CSVFormat format) throws IOException {
+    try (var reader = new SimpleCsvReader(Files.newInputStream(file), charset, format)) {
+      return reader.headers();
+    }
+  }
+
+  private static long[] bounds(FileChannel channel, long size, int count) throws IOException {
+    var bounds = new ArrayList<Long>(count + 1);
+    bounds.add(0L);
+    var scan = ByteBuffer.allocate(SCAN_SIZE);
+    for (var i = 1; i < count; i++) {
+      var position = Math.max(size * i / count, bounds.get(bounds.size() - 1));
+      var next = -1L;
+      while (next == -1 && position < size) {
+        scan.clear();
+        var n = channel.read(scan, position);
+        if (n <= 0) {
+          break;
+        }
+        for (var j = 0; j < n; j++) {
+          if (scan.get(j) == '\n') {
+            next = position + j + 1;
+            break;
+          }
+        }
+        position += n;
+      }
+      if (next == -1 || next >= size) {
+        break;
+      }
+      if (next > bounds.get(bounds.size() - 1)) {
+        bounds.add(next);
+      }
+    }
+    bounds.add(size);
+    return bounds.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  private static Chunk parseChunk(int index, ByteBuffer bytes, Charset charset, CSVFormat format, char quote,
+                                  List<String> headers) throws IOException {
+    for (var i = bytes.position(); i < bytes.limit(); i++) {
+      if (bytes.get(i) == quote) {
+        return new Chunk(index, null);
+      }
+    }
+    var layout = new RowLayout(headers, List.of(), Set.of(), Map.of(), Map.of());
+    var rows = new ArrayList<Object[]>();
+    try (var reader = new SimpleCsvReader(new ByteBufferInputStream(bytes), charset, format)) {
+      reader.rows(RowSelection.ALL, layout).forEach(rows::add);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return new Chunk(index, rows);
+  }
+
+  @Nullable
+  private static RowSet join(ExecutorCompletionService<Chunk> service, List<Future<Chunk>> futures,
+                             List<String> headers, boolean ordered) throws IOException {
+    var chunks = new ArrayList<List<Object[]>>(Collections.nCopies(futures.size(), List.of()));
+    var total = 0;
+    try {
+      for (var i = 0; i < futures.size(); i++) {
+        var chunk = service.take().get();
+        if (chunk.rows == null) {
+          futures.forEach(f -> f.cancel(false));
+          return null;
+        }
+        chunks.set(ordered ? chunk.index : i, chunk.rows);
+        total += chunk.rows.size();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(f -> f.cancel(true));
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(false));
+      var cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+    var values = new ArrayList<Object[]>(total);
+    chunks.forEach(values::addAll);
+    return new RowSet(headers, Collections.unmodifiableList(values));
+  }
+
+  private static final class Chunk {
+
+    private final int index;
+
+    @Nullable
+    private final List<Object[]> rows;
+
+    Chunk(int index, @Nullable List<Object[]> rows) {
+      this.index = index;
+      this.rows = rows;
+    }
+  }
+
+  /**
+   * An input stream which reads a byte buffer.
+   */
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      var n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+  }
+}
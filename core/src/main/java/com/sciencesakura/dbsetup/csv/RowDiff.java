@@ -0,0 +1,211 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The differences between the CSV rows and the current rows of a table, matched by key columns.
+ *
+ * <p>The CSV rows are indexed by their keys in memory, and the rows of the table are streamed once with a
+ * {@code SELECT} of the imported columns. A table row whose key is not in the CSV file is deleted, a table row whose
+ * values differ from the CSV row is updated and a CSV row whose key is not in the table is inserted; the other rows
+ * are not touched. The values are compared as strings, as numbers for numeric columns, or as the Java type of the CSV
+ * value when it has been converted into a column type.</p>
+ */
+final class RowDiff {
+
+  private final List<String> columns;
+
+  private final List<String> keyColumns;
+
+  private final int[] keyIndices;
+
+  private final Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+
+  private final @Nullable Class<?>[] types;
+
+  RowDiff(List<String> columns, List<String> keyColumns, Iterable<Object[]> values) {
+    this.columns = columns;
+    this.keyColumns = keyColumns;
+    keyIndices = new int[keyColumns.size()];
+    for (var i = 0; i < keyIndices.length; i++) {
+      keyIndices[i] = columns.indexOf(keyColumns.get(i));
+      if (keyIndices[i] == -1) {
+        throw new IllegalArgumentException("column " + keyColumns.get(i) + " is not found in the CSV file");
+      }
+    }
+    types = newTypes(columns.size());
+    for (var row : values) {
+      for (var i = 0; i < row.length; i++) {
+        if (types[i] == null && row[i] != null) {
+          types[i] = row[i].getClass();
+        }
+      }
+      var key = new ArrayList<>(keyIndices.length);
+      for (var index : keyIndices) {
+        key.add(normalize(row[index]));
+      }
+      if (rows.put(key, row) != null) {
+        throw new IllegalArgumentException("duplicate key " + key + " in the CSV file");
+      }
+    }
+  }
+
+  /**
+   * Applies the differences to the given table.
+   *
+   * @param connection    the connection to the database
+   * @param configuration the binder configuration
+   * @param table         the table name
+   * @param batchSize     the number of rows to send at once
+   * @param stats         the counters to update
+   * @throws SQLException if a database access error occurs
+   */
+  void apply(Connection connection, BinderConfiguration configuration, String table, int batchSize,
+             ImportStats stats) throws SQLException {
+    var inserted = new LinkedHashMap<>(rows);
+    var deleted = new ArrayList<Object[]>();
+    var updated = new ArrayList<Object[]>();
+    try (var statement = connection.prepareStatement(Statements.selectSql(table, columns));
+         var rs = statement.executeQuery()) {
+      while (rs.next()) {
+        var key = new ArrayList<>(keyIndices.length);
+        var keyValues = new Object[keyIndices.length];
+        for (var i = 0; i < keyIndices.length; i++) {
+          keyValues[i] = rs.getObject(keyIndices[i] + 1);
+          key.add(normalize(value(rs, keyIndices[i])));
+        }
+        var row = inserted.remove(key);
+        if (row == null) {
+          deleted.add(keyValues);
+        } else if (!matches(rs, row)) {
+          updated.add(row);
+        }
+      }
+    }
+    if (!deleted.isEmpty()) {
+      try (var statement = connection.prepareStatement(Statements.deleteSql(table, keyColumns))) {
+        execute(statement, configuration, deleted, batchSize, stats);
+      }
+    }
+    if ("H2".equals(connection.getMetaData().getDatabaseProductName())) {
+      var merged = new ArrayList<Object[]>(updated.size() + inserted.size());
+      merged.addAll(updated);
+      merged.addAll(inserted.values());
+      if (!merged.isEmpty()) {
+        try (var statement = connection.prepareStatement(Statements.mergeSql(table, columns, keyColumns))) {
+          execute(statement, configuration, merged, batchSize, stats);
+        }
+      }
+    } else {
+      var nonKeys = new ArrayList<>(columns);
+      nonKeys.removeAll(keyColumns);
+      if (!updated.isEmpty() && !nonKeys.isEmpty()) {
+        var parameters = new ArrayList<>(nonKeys);
+        parameters.addAll(keyColumns);
+        var reordered = new ArrayList<Object[]>(updated.size());
+        for (var row : updated) {
+          var values = new Object[parameters.size()];
+          for (var i = 0; i < values.length; i++) {
+            values[i] = row[columns.indexOf(parameters.get(i))];
+          }
+          reordered.add(values);
+        }
+        try (var statement = connection.prepareStatement(Statements.updateSql(table, nonKeys, keyColumns))) {
+          execute(statement, configuration, reordered, batchSize, stats);
+        }
+      }
+      if (!inserted.isEmpty()) {
+        try (var statement = connection.prepareStatement(Statements.insertSql(table, columns, 1))) {
+          execute(statement, configuration, new ArrayList<>(inserted.values()), batchSize, stats);
+        }
+      }
+    }
+    stats.rowsInserted += inserted.size();
+    stats.rowsUpdated += updated.size();
+    stats.rowsDeleted += deleted.size();
+  }
+
+  private static void execute(PreparedStatement statement, BinderConfiguration configuration, List<Object[]> values,
+                              int batchSize, ImportStats stats) throws SQLException {
+    Binder[] binders = Statements.binders(statement, values.get(0).length, configuration);
+    var count = 0;
+    for (var row : values) {
+      Statements.bind(statement, binders, 0, row);
+      statement.addBatch();
+      if (++count == batchSize) {
+        count = 0;
+        statement.executeBatch();
+        stats.batches++;
+      }
+    }
+    if (count != 0) {
+      statement.executeBatch();
+      stats.batches++;
+    }
+  }
+
+  private boolean matches(ResultSet rs, Object[] row) throws SQLException {
+    for (var i = 0; i < row.length; i++) {
+      if (!matches(row[i], value(rs, i), rs.getObject(i + 1))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matches(@Nullable Object value, @Nullable Object current, @Nullable Object object) {
+    if (value instanceof String && object instanceof Number) {
+      try {
+        return new BigDecimal((String) value).compareTo(new BigDecimal(object.toString())) == 0;
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+    return Objects.equals(normalize(value), normalize(current));
+  }
+
+  @Nullable
+  private Object value(ResultSet rs, int index) throws SQLException {
+    var type = types[index];
+    if (type == null || type == String.class) {
+      return rs.getString(index + 1);
+    }
+    try {
+      return rs.getObject(index + 1, type);
+    } catch (SQLException e) {
+      return rs.getString(index + 1);
+    }
+  }
+
+  @Nullable
+  private static Object normalize(@Nullable Object value) {
+    if (value instanceof BigDecimal) {
+      var decimal = ((BigDecimal) value).stripTrailingZeros();
+      return decimal.signum() == 0 ? BigDecimal.ZERO : decimal;
+    }
+    if (value instanceof byte[]) {
+      return Arrays.toString((byte[]) value);
+    }
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static @Nullable Class<?>[] newTypes(int size) {
+    return new Class[size];
+  }
+}
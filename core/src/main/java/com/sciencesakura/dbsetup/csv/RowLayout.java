@@ -0,0 +1,171 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.generator.ValueGenerator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.apache.commons.csv.CSVRecord;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The layout of the rows to insert: the selected columns read from the CSV file followed by the columns
+ * whose values are given by default values or value generators.
+ */
+final class RowLayout {
+
+  private final List<String> columns;
+
+  private final int width;
+
+  private final int @Nullable [] indexes;
+
+  private final ValueGenerator<?>[] generators;
+
+  RowLayout(List<String> headers, Collection<String> includedColumns, Collection<String> excludedColumns,
+            Map<String, Object> defaultValues, Map<String, ValueGenerator<?>> valueGenerators) {
+    for (var column : includedColumns) {
+      if (!headers.contains(column)) {
+        throw new IllegalArgumentException("column " + column + " is not found in the CSV file");
+      }
+    }
+    var selected = new ArrayList<String>(headers.size());
+    var positions = new ArrayList<Integer>(headers.size());
+    for (var i = 0; i < headers.size(); i++) {
+      var header = headers.get(i);
+      if ((includedColumns.isEmpty() || includedColumns.contains(header)) && !excludedColumns.contains(header)) {
+        selected.add(header);
+        positions.add(i);
+      }
+    }
+    var extra = new LinkedHashMap<String, ValueGenerator<?>>();
+    defaultValues.forEach((column, value) -> extra.put(column, () -> value));
+    extra.putAll(valueGenerators);
+    for (var column : extra.keySet()) {
+      if (selected.contains(column)) {
+        throw new IllegalArgumentException("column " + column + " is already listed in the list of column names");
+      }
+    }
+    var all = new ArrayList<String>(selected.size() + extra.size());
+    all.addAll(selected);
+    all.addAll(extra.keySet());
+    columns = Collections.unmodifiableList(all);
+    width = headers.size();
+    indexes = selected.size() == headers.size() ? null : positions.stream().mapToInt(Integer::intValue).toArray();
+    generators = extra.values().toArray(new ValueGenerator<?>[0]);
+  }
+
+  /**
+   * Returns the names of all columns to insert.
+   *
+   * @return the column names
+   */
+  List<String> columns() {
+    return columns;
+  }
+
+  /**
+   * Selects the columns of the values read from the CSV file and completes them with the default values and
+   * the generated values.
+   *
+   * @param values the values read from the CSV file
+   * @return the values of all columns to insert
+   * @throws IllegalArgumentException if the number of values doesn't match the number of CSV columns
+   */
+  Object[] expand(Object[] values) {
+    if (values.length != width) {
+      throw new IllegalArgumentException("The number of values doesn't match the number of columns");
+    }
+    if (indexes == null && generators.length == 0) {
+      return values;
+    }
+    var row = new Object[columns.size()];
+    var n = select(values, row);
+    generate(row, n);
+    return row;
+  }
+
+  /**
+   * Selects the columns of the given record and completes them with the default values and the generated values.
+   *
+   * <p>The values of the columns which are not selected are not copied out of the record.</p>
+   *
+   * @param record the record read from the CSV file
+   * @return the values of all columns to insert
+   * @throws IllegalArgumentException if the number of values doesn't match the number of CSV columns
+   */
+  Object[] expand(CSVRecord record) {
+    if (record.size() != width) {
+      throw new IllegalArgumentException("The number of values doesn't match the number of columns");
+    }
+    if (indexes == null && generators.length == 0) {
+      return record.values();
+    }
+    var row = new Object[columns.size()];
+    var n = 0;
+    if (indexes == null) {
+      for (; n < width; n++) {
+        row[n] = record.get(n);
+      }
+    } else {
+      for (var index : indexes) {
+        row[n++] = record.get(index);
+      }
+    }
+    generate(row, n);
+    return row;
+  }
+
+  /**
+   * Selects the columns of a row whose values are given by the function and completes them with the default values
+   * and the generated values.
+   *
+   * <p>The function is called only for the selected columns, so the values of the other columns are never
+   * materialized.</p>
+   *
+   * @param size   the number of values of the row
+   * @param values the function which returns the value at the given index of the row
+   * @return the values of all columns to insert
+   * @throws IllegalArgumentException if the number of values doesn't match the number of CSV columns
+   */
+  Object[] expand(int size, IntFunction<@Nullable Object> values) {
+    if (size != width) {
+      throw new IllegalArgumentException("The number of values doesn't match the number of columns");
+    }
+    var row = new Object[columns.size()];
+    var n = 0;
+    if (indexes == null) {
+      for (; n < width; n++) {
+        row[n] = values.apply(n);
+      }
+    } else {
+      for (var index : indexes) {
+        row[n++] = values.apply(index);
+      }
+    }
+    generate(row, n);
+    return row;
+  }
+
+  private int select(Object[] values, Object[] row) {
+    if (indexes == null) {
+      System.arraycopy(values, 0, row, 0, width);
+      return width;
+    }
+    for (var i = 0; i < indexes.length; i++) {
+      row[i] = values[indexes[i]];
+    }
+    return indexes.length;
+  }
+
+  private void generate(Object[] row, int offset) {
+    for (var i = 0; i < generators.length; i++) {
+      row[offset + i] = generators[i].nextValue();
+    }
+  }
+}
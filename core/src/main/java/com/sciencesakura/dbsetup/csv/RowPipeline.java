@@ -0,0 +1,133 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A pipeline which parses the CSV records on a background thread and hands them over in batches of rows.
+ *
+ * <p>The producer thread reads the rows, which are parsed and laid out lazily, and puts the batches into a bounded
+ * queue, so that the parsing of the next rows overlaps with the insertion of the previous ones.</p>
+ */
+final class RowPipeline implements AutoCloseable {
+
+  private static final List<Object[]> END = Collections.emptyList();
+
+  private final BlockingQueue<List<Object[]>> queue;
+
+  private final Thread producer;
+
+  @Nullable
+  private volatile Throwable failure;
+
+  private volatile boolean done;
+
+  private volatile long parseNanos;
+
+  RowPipeline(Iterable<Object[]> rows, int batchRows, int queueDepth) {
+    queue = new ArrayBlockingQueue<>(queueDepth);
+    producer = new Thread(() -> produce(rows, batchRows), "dbsetup-csv-parser");
+    producer.setDaemon(true);
+    producer.start();
+  }
+
+  /**
+   * Returns the next batch of rows, waiting for the producer if necessary.
+   *
+   * @return the next batch of rows, or {@code null} if all rows have been returned
+   * @throws IOException if the CSV file cannot be read
+   */
+  @Nullable
+  List<Object[]> take() throws IOException {
+    if (done) {
+      return null;
+    }
+    List<Object[]> batch;
+    try {
+      batch = queue.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DbSetupRuntimeException(e);
+    }
+    if (batch != END) {
+      return batch;
+    }
+    done = true;
+    var t = failure;
+    if (t instanceof IOException) {
+      throw (IOException) t;
+    }
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    }
+    if (t instanceof Error) {
+      throw (Error) t;
+    }
+    return null;
+  }
+
+  /**
+   * Returns the time the producer has spent reading the rows, excluding the time waiting for the consumer.
+   * This is available once {@link #take()} has returned {@code null}.
+   *
+   * @return the parse time in nanoseconds
+   */
+  long parseNanos() {
+    return parseNanos;
+  }
+
+  @Override
+  public void close() {
+    if (!done) {
+      producer.interrupt();
+      queue.clear();
+    }
+    try {
+      producer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void produce(Iterable<Object[]> rows, int batchRows) {
+    var nanos = 0L;
+    var start = System.nanoTime();
+    try {
+      var batch = new ArrayList<Object[]>(batchRows);
+      for (var row : rows) {
+        batch.add(row);
+        if (batch.size() == batchRows) {
+          nanos += System.nanoTime() - start;
+          queue.put(batch);
+          start = System.nanoTime();
+          batch = new ArrayList<>(batchRows);
+        }
+      }
+      nanos += System.nanoTime() - start;
+      parseNanos = nanos;
+      if (!batch.isEmpty()) {
+        queue.put(batch);
+      }
+    } catch (InterruptedException e) {
+      return;
+    } catch (UncheckedIOException e) {
+      failure = e.getCause();
+    } catch (RuntimeException | Error e) {
+      failure = e;
+    }
+    try {
+      queue.put(END);
+    } catch (InterruptedException e) {
+      // the consumer has gone
+    }
+  }
+}
@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.commons.csv.CSVParser;
+
+/**
+ * A reader of the rows of a CSV file.
+ */
+abstract class RowReader implements Closeable {
+
+  /**
+   * Creates a reader which reads the rows with commons-csv.
+   *
+   * @param parser the parser
+   * @return the new reader
+   */
+  static RowReader of(CSVParser parser) {
+    return new CommonsRowReader(parser);
+  }
+
+  /**
+   * Returns the column names of the CSV file.
+   *
+   * @return the column names
+   */
+  abstract List<String> headers();
+
+  /**
+   * Returns the selected rows laid out with the given layout.
+   *
+   * <p>The returned iterable reads the CSV file lazily and can be iterated only once. An I/O error is thrown as
+   * {@link java.io.UncheckedIOException}.</p>
+   *
+   * @param selection the selection of the rows
+   * @param layout    the layout of the rows
+   * @return the rows
+   */
+  abstract Iterable<Object[]> rows(RowSelection selection, RowLayout layout);
+
+  static <T> Iterable<Object[]> map(Iterable<T> rows, Function<T, Object[]> mapper) {
+    return () -> new Iterator<>() {
+
+      private final Iterator<T> it = rows.iterator();
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public Object[] next() {
+        return mapper.apply(it.next());
+      }
+    };
+  }
+
+  private static final class CommonsRowReader extends RowReader {
+
+    private final CSVParser parser;
+
+    CommonsRowReader(CSVParser parser) {
+      this.parser = parser;
+    }
+
+    @Override
+    List<String> headers() {
+      return parser.getHeaderNames();
+    }
+
+    @Override
+    Iterable<Object[]> rows(RowSelection selection, RowLayout layout) {
+      return map(selection.select(parser), layout::expand);
+    }
+
+    @Override
+    public void close() throws IOException {
+      parser.close();
+    }
+  }
+}
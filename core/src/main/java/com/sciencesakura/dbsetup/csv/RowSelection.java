@@ -0,0 +1,158 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import org.apache.commons.csv.CSVRecord;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The selection of the CSV records to import.
+ *
+ * <p>The records are selected in this order: the first {@code skip} records are skipped, the remaining ones are
+ * tested with the filter and then sampled, and the reading stops when {@code limit} records have been selected.
+ * The sampling depends only on the seed and the position of the record in the file, so that the same records
+ * are selected on each reading.</p>
+ */
+final class RowSelection {
+
+  static final RowSelection ALL = new RowSelection(0, -1, 1.0, 0, null);
+
+  private final long skip;
+
+  private final long limit;
+
+  private final double fraction;
+
+  private final long seed;
+
+  @Nullable
+  private final Predicate<CSVRecord> filter;
+
+  RowSelection(long skip, long limit, double fraction, long seed, @Nullable Predicate<CSVRecord> filter) {
+    this.skip = skip;
+    this.limit = limit;
+    this.fraction = fraction;
+    this.seed = seed;
+    this.filter = filter;
+  }
+
+  /**
+   * Returns whether all records are selected.
+   *
+   * @return {@code true} if all records are selected
+   */
+  boolean isAll() {
+    return skip == 0 && limit == -1 && fraction >= 1.0 && filter == null;
+  }
+
+  /**
+   * Returns the selected records of the given records.
+   *
+   * <p>The returned iterable is lazy and stops iterating the given records when the limit is reached.</p>
+   *
+   * @param records the records read from the CSV file
+   * @return the selected records
+   */
+  Iterable<CSVRecord> select(Iterable<CSVRecord> records) {
+    if (isAll()) {
+      return records;
+    }
+    return () -> new Selector<>(records.iterator(), filter);
+  }
+
+  /**
+   * Returns the selected rows of the given rows, which are not tested with the filter.
+   *
+   * <p>The returned iterator does not advance the given one past a selected row until that row has been taken,
+   * so the rows can be materialized lazily after the selection.</p>
+   *
+   * @param rows the rows read from the CSV file
+   * @param <T>  the type of the rows
+   * @return the selected rows
+   * @throws IllegalStateException if a filter is specified
+   */
+  <T> Iterable<T> selectRows(Iterable<T> rows) {
+    if (filter != null) {
+      throw new IllegalStateException("the filter needs CSV records");
+    }
+    if (isAll()) {
+      return rows;
+    }
+    return () -> new Selector<>(rows.iterator(), null);
+  }
+
+  /**
+   * Returns whether a filter is specified.
+   *
+   * @return {@code true} if a filter is specified
+   */
+  boolean hasFilter() {
+    return filter != null;
+  }
+
+  private boolean sampled(long position) {
+    if (fraction >= 1.0) {
+      return true;
+    }
+    // SplitMix64 finalizer over the seed and the position, mapped to [0, 1)
+    var z = seed + (position + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z = z ^ (z >>> 31);
+    return (z >>> 11) * 0x1.0p-53 < fraction;
+  }
+
+  private final class Selector<T> implements Iterator<T> {
+
+    private final Iterator<T> records;
+
+    @Nullable
+    private final Predicate<? super T> test;
+
+    private long position;
+
+    private long selected;
+
+    @Nullable
+    private T next;
+
+    Selector(Iterator<T> records, @Nullable Predicate<? super T> test) {
+      this.records = records;
+      this.test = test;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      if (limit != -1 && selected >= limit) {
+        return false;
+      }
+      while (records.hasNext()) {
+        var record = records.next();
+        var p = position++;
+        if (p < skip || test != null && !test.test(record) || !sampled(p)) {
+          continue;
+        }
+        next = record;
+        selected++;
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      var record = next;
+      next = null;
+      return record;
+    }
+  }
+}
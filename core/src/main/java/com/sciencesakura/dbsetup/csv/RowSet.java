@@ -0,0 +1,28 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.util.List;
+
+/**
+ * Rows held in memory together with the names of their columns.
+ */
+final class RowSet {
+
+  private final List<String> columns;
+
+  private final List<Object[]> values;
+
+  RowSet(List<String> columns, List<Object[]> values) {
+    this.columns = columns;
+    this.values = values;
+  }
+
+  List<String> columns() {
+    return columns;
+  }
+
+  List<Object[]> values() {
+    return values;
+  }
+}
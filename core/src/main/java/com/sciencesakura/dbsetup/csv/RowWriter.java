@@ -0,0 +1,44 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.SQLException;
+
+/**
+ * Writes rows into a table.
+ *
+ * <p>Implementations may buffer the written rows; {@link #flush()} must be called to make sure that all of them
+ * are sent to the database before the writer is closed.</p>
+ */
+interface RowWriter extends AutoCloseable {
+
+  /**
+   * Writes a row.
+   *
+   * @param values the values of all columns
+   * @throws SQLException if a database access error occurs
+   */
+  void write(Object[] values) throws SQLException;
+
+  /**
+   * Sends the buffered rows to the database.
+   *
+   * @throws SQLException if a database access error occurs
+   */
+  void flush() throws SQLException;
+
+  /**
+   * Returns the number of statements or JDBC batches sent to the database so far.
+   *
+   * @return the number of batches
+   */
+  long batches();
+
+  /**
+   * Releases the resources held by this writer without sending the buffered rows.
+   *
+   * @throws SQLException if a database access error occurs
+   */
+  @Override
+  void close() throws SQLException;
+}
@@ -0,0 +1,253 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static java.util.Objects.requireNonNull;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.destination.Destination;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An importer which splits the rows of a CSV file among several sharded databases by a key column.
+ *
+ * <p>The CSV file is read once, when the {@link Import} operation is built, and each row is routed to a shard by the
+ * value of the key column. Then the rows of all shards are inserted concurrently, each shard over its own
+ * connection.</p>
+ * <pre>{@code
+ * var importer = ShardedImport.to(shard0, shard1, shard2).shardBy("customer_id").build();
+ * importer.launch(csv("orders.csv").withBatchSize(1000).build());
+ * }</pre>
+ *
+ * <p>By default, a row is routed to the shard {@code Math.floorMod(Objects.hashCode(value), shards)}, where
+ * {@code value} is the value of the key column after the conversion into its column type.</p>
+ *
+ * <p>If inserting the rows into any shard fails, all shards are rolled back. Otherwise, the shards are committed in
+ * turn once the rows of all shards have been inserted; this is not a distributed transaction, so if committing
+ * a shard fails, the shards committed before it stay committed.</p>
+ *
+ * @author sciencesakura
+ */
+public final class ShardedImport {
+
+  /**
+   * Creates a new {@code ShardedImport.Builder} instance.
+   *
+   * @param destinations the destinations of the shards, in the order of the shard indices
+   * @return the new {@code ShardedImport.Builder} instance
+   * @throws IllegalArgumentException if {@code destinations} is empty
+   */
+  public static Builder to(Destination... destinations) {
+    requireNonNull(destinations, "destinations must not be null");
+    return to(Arrays.asList(destinations));
+  }
+
+  /**
+   * Creates a new {@code ShardedImport.Builder} instance.
+   *
+   * @param destinations the destinations of the shards, in the order of the shard indices
+   * @return the new {@code ShardedImport.Builder} instance
+   * @throws IllegalArgumentException if {@code destinations} is empty
+   */
+  public static Builder to(Collection<? extends Destination> destinations) {
+    requireNonNull(destinations, "destinations must not be null");
+    if (destinations.isEmpty()) {
+      throw new IllegalArgumentException("destinations must not be empty");
+    }
+    for (var destination : destinations) {
+      requireNonNull(destination, "destinations must not contain null");
+    }
+    return new Builder(List.copyOf(destinations));
+  }
+
+  private final List<Destination> destinations;
+
+  private final String column;
+
+  private final ToIntFunction<@Nullable Object> router;
+
+  private final BinderConfiguration configuration;
+
+  @Nullable
+  private final ExecutorService executor;
+
+  private ShardedImport(Builder builder, String column) {
+    destinations = builder.destinations;
+    this.column = column;
+    var shards = destinations.size();
+    router = builder.router != null ? builder.router : value -> Math.floorMod(Objects.hashCode(value), shards);
+    configuration = builder.configuration;
+    executor = builder.executor;
+  }
+
+  /**
+   * Imports the rows of the given operation into the shards.
+   *
+   * @param operation the operation to import, which must read its rows when it is built: neither in the streaming
+   *                  mode, in the pipelined mode nor with the bulk load. It must neither merge the rows nor commit
+   *                  them at an interval
+   * @throws IllegalArgumentException if the operation reads its rows when it is executed, merges the rows or commits
+   *                                  them at an interval, or the key column is not found
+   * @throws IllegalStateException    if the router returns an index out of the shards
+   * @throws DbSetupRuntimeException  if a database access error occurs
+   */
+  public void launch(Import operation) {
+    requireNonNull(operation, "operation must not be null");
+    if (operation.merges()) {
+      throw new IllegalArgumentException("operation must not merge the rows");
+    }
+    if (operation.commitsAtInterval()) {
+      throw new IllegalArgumentException("operation must not commit the rows at an interval");
+    }
+    var shards = destinations.size();
+    Workers.launch(executor, shards, "dbsetup-csv-shard", (connections, service) -> {
+      for (var destination : destinations) {
+        Workers.open(destination, connections);
+      }
+      var rows = operation.prefetchedRows(connections.get(0));
+      if (rows == null) {
+        throw new IllegalArgumentException("operation must read the rows when it is built");
+      }
+      var parts = partition(rows);
+      var futures = new ArrayList<Future<?>>(shards);
+      for (var i = 0; i < shards; i++) {
+        var connection = connections.get(i);
+        var part = parts.get(i);
+        futures.add(service.submit(() -> {
+          operation.execute(connection, configuration, part);
+          return null;
+        }));
+      }
+      Workers.await(futures);
+      for (var connection : connections) {
+        connection.commit();
+      }
+    });
+  }
+
+  private List<RowSet> partition(RowSet rows) {
+    var index = rows.columns().indexOf(column);
+    if (index == -1) {
+      throw new IllegalArgumentException("column " + column + " is not found in the CSV file");
+    }
+    var shards = destinations.size();
+    var values = new ArrayList<List<Object[]>>(shards);
+    for (var i = 0; i < shards; i++) {
+      values.add(new ArrayList<>());
+    }
+    for (var row : rows.values()) {
+      var shard = router.applyAsInt(row[index]);
+      if (shard < 0 || shard >= shards) {
+        throw new IllegalStateException("shard " + shard + " is out of range: " + shards + " shards");
+      }
+      values.get(shard).add(row);
+    }
+    var parts = new ArrayList<RowSet>(shards);
+    for (var part : values) {
+      parts.add(new RowSet(rows.columns(), part));
+    }
+    return parts;
+  }
+
+  /**
+   * A builder to create the {@code ShardedImport}.
+   * The builder instance is created by the static methods {@link ShardedImport#to(Destination...)} and
+   * {@link ShardedImport#to(Collection)}.
+   *
+   * @author sciencesakura
+   */
+  public static final class Builder {
+
+    private final List<Destination> destinations;
+
+    @Nullable
+    private String column;
+
+    @Nullable
+    private ToIntFunction<@Nullable Object> router;
+
+    private BinderConfiguration configuration = DefaultBinderConfiguration.INSTANCE;
+
+    @Nullable
+    private ExecutorService executor;
+
+    private Builder(List<Destination> destinations) {
+      this.destinations = destinations;
+    }
+
+    /**
+     * Build a new {@code ShardedImport} instance.
+     *
+     * @return the new {@code ShardedImport} instance
+     * @throws IllegalStateException if the key column is not specified
+     */
+    public ShardedImport build() {
+      if (column == null) {
+        throw new IllegalStateException("shard key column must be specified");
+      }
+      return new ShardedImport(this, column);
+    }
+
+    /**
+     * Specifies the column whose value decides the shard of each row, routing the rows by the hash of the value.
+     *
+     * @param column the key column, which must be one of the imported columns
+     * @return the reference to this object
+     */
+    public Builder shardBy(String column) {
+      this.column = requireNonNull(column, "column must not be null");
+      this.router = null;
+      return this;
+    }
+
+    /**
+     * Specifies the column whose value decides the shard of each row, routing the rows with the given function.
+     *
+     * @param column the key column, which must be one of the imported columns
+     * @param router the function which returns the index of the shard for the value of the key column
+     * @return the reference to this object
+     */
+    public Builder shardBy(String column, ToIntFunction<@Nullable Object> router) {
+      this.column = requireNonNull(column, "column must not be null");
+      this.router = requireNonNull(router, "router must not be null");
+      return this;
+    }
+
+    /**
+     * Specifies a binder configuration to bind the values.
+     *
+     * <p>By default, {@link DefaultBinderConfiguration#INSTANCE} is used.</p>
+     *
+     * @param configuration the binder configuration
+     * @return the reference to this object
+     */
+    public Builder withBinderConfiguration(BinderConfiguration configuration) {
+      this.configuration = requireNonNull(configuration, "configuration must not be null");
+      return this;
+    }
+
+    /**
+     * Specifies an executor to insert the rows of the shards.
+     *
+     * <p>By default, a fixed thread pool with a thread per shard is created for each launch. The given executor is
+     * not shut down by the importer.</p>
+     *
+     * @param executor the executor
+     * @return the reference to this object
+     */
+    public Builder withExecutor(ExecutorService executor) {
+      this.executor = requireNonNull(executor, "executor must not be null");
+      return this;
+    }
+  }
+}
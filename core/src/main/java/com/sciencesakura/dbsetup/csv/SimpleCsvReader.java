@@ -0,0 +1,318 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link RowReader} which splits the lines of a CSV file without quoted values directly on a char buffer.
+ *
+ * <p>The values are read in the same way as with the format given by {@code Import.createFormat}: they are trimmed,
+ * a value equal to the null string is read as null and empty lines are ignored. Neither a record object nor
+ * a string builder is allocated per row, and no string is created for the columns excluded by the layout. When
+ * a line contains the quotation mark, or the header is not a simple list of names, the rest of the file from that
+ * line is read with commons-csv.</p>
+ */
+final class SimpleCsvReader extends RowReader {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int END = 0;
+
+  private static final int LINE = 1;
+
+  private static final int QUOTED = 2;
+
+  private static final Object CURRENT_LINE = new Object();
+
+  private final Reader in;
+
+  private final CSVFormat format;
+
+  private final char delimiter;
+
+  private final char quote;
+
+  private final String nullString;
+
+  private final List<String> headers;
+
+  private char[] buffer = new char[BUFFER_SIZE];
+
+  private int pos;
+
+  private int limit;
+
+  private int lineStart;
+
+  private boolean skipLf;
+
+  private boolean eof;
+
+  private int[] ends = new int[16];
+
+  private int count;
+
+  @Nullable
+  private CSVParser fallback;
+
+  private long valuesRead;
+
+  SimpleCsvReader(InputStream stream, Charset charset, CSVFormat format) throws IOException {
+    this.in = new InputStreamReader(stream, charset);
+    this.format = format;
+    var quoteCharacter = format.getQuoteCharacter();
+    this.delimiter = format.getDelimiterString().charAt(0);
+    this.quote = quoteCharacter == null ? delimiter : quoteCharacter;
+    this.nullString = format.getNullString() == null ? "" : format.getNullString();
+    try {
+      this.headers = format.getSkipHeaderRecord() ? readHeaders() : List.of(format.getHeader());
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  @Override
+  List<String> headers() {
+    return headers;
+  }
+
+  @Override
+  Iterable<Object[]> rows(RowSelection selection, RowLayout layout) {
+    return map(selection.selectRows(this::lines), line -> expand(line, layout));
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (fallback != null) {
+      fallback.close();
+    } else {
+      in.close();
+    }
+  }
+
+  /**
+   * Returns the number of values materialized from the lines split on the char buffer.
+   *
+   * @return the number of values
+   */
+  long valuesRead() {
+    return valuesRead;
+  }
+
+  private List<String> readHeaders() throws IOException {
+    var line = nextLine();
+    if (line == END) {
+      return List.of();
+    }
+    if (line == LINE) {
+      var names = fields();
+      if (Arrays.stream(names).allMatch(name -> name != null && !name.isEmpty())) {
+        return List.of(names);
+      }
+    }
+    return fallBack(format).getHeaderNames();
+  }
+
+  /**
+   * Returns the lines of the file: {@link #CURRENT_LINE} for a line split on the char buffer, or the record read
+   * with commons-csv. The fields of a line are not materialized here, so that the lines dropped by the selection
+   * never are.
+   */
+  private Iterator<Object> lines() {
+    return new Iterator<>() {
+
+      private boolean pending;
+
+      @Nullable
+      private Iterator<CSVRecord> records = fallback == null ? null : fallback.iterator();
+
+      @Override
+      public boolean hasNext() {
+        if (pending) {
+          return true;
+        }
+        if (records != null) {
+          return records.hasNext();
+        }
+        try {
+          var line = nextLine();
+          if (line == LINE) {
+            pending = true;
+            return true;
+          }
+          if (line == QUOTED) {
+            var names = headers.toArray(new String[0]);
+            records = fallBack(format.builder().setHeader(names).setSkipHeaderRecord(false).get()).iterator();
+            return records.hasNext();
+          }
+          return false;
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      @Override
+      public Object next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (records != null) {
+          return records.next();
+        }
+        pending = false;
+        return CURRENT_LINE;
+      }
+    };
+  }
+
+  private Object[] expand(Object line, RowLayout layout) {
+    if (line instanceof CSVRecord) {
+      return layout.expand((CSVRecord) line);
+    }
+    return layout.expand(count, this::field);
+  }
+
+  private CSVParser fallBack(CSVFormat fallbackFormat) throws IOException {
+    var pending = limit - lineStart;
+    var reader = new PushbackReader(in, Math.max(1, pending));
+    if (pending != 0) {
+      reader.unread(buffer, lineStart, pending);
+    }
+    var parser = CSVParser.builder().setReader(reader).setFormat(fallbackFormat).get();
+    fallback = parser;
+    return parser;
+  }
+
+  /**
+   * Reads the next non-empty line and records the ends of its fields.
+   *
+   * @return {@link #LINE}, {@link #QUOTED} if the line contains the quotation mark, or {@link #END}
+   */
+  private int nextLine() throws IOException {
+    while (true) {
+      lineStart = pos;
+      if (skipLf) {
+        if (pos == limit && !fill()) {
+          return END;
+        }
+        if (buffer[lineStart] == '\n') {
+          lineStart++;
+        }
+        skipLf = false;
+      }
+      count = 0;
+      var i = lineStart;
+      while (true) {
+        if (i == limit) {
+          var offset = i - lineStart;
+          if (!fill()) {
+            pos = limit;
+            if (offset == 0) {
+              return END;
+            }
+            addEnd(offset);
+            return LINE;
+          }
+          i = lineStart + offset;
+        }
+        var c = buffer[i];
+        if (c == quote) {
+          return QUOTED;
+        }
+        if (c == delimiter) {
+          addEnd(i - lineStart);
+        } else if (c == '\n' || c == '\r') {
+          pos = i + 1;
+          skipLf = c == '\r';
+          if (i != lineStart) {
+            addEnd(i - lineStart);
+            return LINE;
+          }
+          break;
+        }
+        i++;
+      }
+    }
+  }
+
+  private boolean fill() throws IOException {
+    if (eof) {
+      return false;
+    }
+    var pending = limit - lineStart;
+    if (lineStart != 0) {
+      System.arraycopy(buffer, lineStart, buffer, 0, pending);
+    } else if (pending == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    lineStart = 0;
+    pos = 0;
+    limit = pending;
+    var n = in.read(buffer, limit, buffer.length - limit);
+    if (n == -1) {
+      eof = true;
+      return false;
+    }
+    limit += n;
+    return true;
+  }
+
+  private void addEnd(int end) {
+    if (count == ends.length) {
+      ends = Arrays.copyOf(ends, count * 2);
+    }
+    ends[count++] = end;
+  }
+
+  private @Nullable String[] fields() {
+    var values = new String[count];
+    for (var k = 0; k < count; k++) {
+      values[k] = field(k);
+    }
+    return values;
+  }
+
+  @Nullable
+  private String field(int index) {
+    valuesRead++;
+    var start = index == 0 ? lineStart : lineStart + ends[index - 1] + 1;
+    return value(start, lineStart + ends[index]);
+  }
+
+  @Nullable
+  private String value(int start, int end) {
+    while (start < end && buffer[start] <= ' ') {
+      start++;
+    }
+    while (end > start && buffer[end - 1] <= ' ') {
+      end--;
+    }
+    var length = end - start;
+    if (length == nullString.length()) {
+      var i = 0;
+      while (i < length && buffer[start + i] == nullString.charAt(i)) {
+        i++;
+      }
+      if (i == length) {
+        return null;
+      }
+    }
+    return new String(buffer, start, length);
+  }
+}
@@ -0,0 +1,391 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The source of a CSV file.
+ *
+ * <p>A gzip-compressed source is decompressed while reading; it is detected by the gzip magic number.
+ * A source whose name ends with {@code .deflate} is decompressed as a zlib stream.</p>
+ */
+abstract class Source {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int INFLATER_BUFFER_SIZE = 64 * 1024;
+
+  private static final String[] COMPRESSION_SUFFIXES = {".gz", ".deflate"};
+
+  static Source of(URL location) {
+    return new UrlSource(location);
+  }
+
+  static Source of(Path path) {
+    return new PathSource(path);
+  }
+
+  static Source of(ReadableByteChannel channel) {
+    if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+      throw new IllegalArgumentException("channel must be in blocking mode");
+    }
+    return new ChannelSource(channel);
+  }
+
+  /**
+   * Opens a new stream to read the CSV file, decompressing it if necessary.
+   *
+   * @return the new stream
+   * @throws IOException if an I/O error occurs
+   */
+  final InputStream open() throws IOException {
+    return open(UnaryOperator.identity());
+  }
+
+  /**
+   * Opens a new stream to read the CSV file, decompressing it if necessary, with the given filter applied to the
+   * raw stream before decompression.
+   *
+   * @param filter the function to wrap the raw stream, e.g. to count the bytes read from the file
+   * @return the new stream
+   * @throws IOException if an I/O error occurs
+   */
+  final InputStream open(UnaryOperator<InputStream> filter) throws IOException {
+    var in = filter.apply(openRaw());
+    try {
+      var name = fileName();
+      if (name != null && name.endsWith(".deflate")) {
+        return new InflaterInputStream(in, new Inflater(), INFLATER_BUFFER_SIZE);
+      }
+      var pushback = new PushbackInputStream(in, 2);
+      var magic = new byte[2];
+      var n = pushback.readNBytes(magic, 0, 2);
+      pushback.unread(magic, 0, n);
+      if (n == 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+        return new GZIPInputStream(pushback, INFLATER_BUFFER_SIZE);
+      }
+      return pushback;
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the name of the CSV file without the extension of the compression format.
+   *
+   * @return the base name, or {@code null} if the source has no name
+   */
+  @Nullable
+  final String baseName() {
+    var name = fileName();
+    if (name == null) {
+      return null;
+    }
+    for (var suffix : COMPRESSION_SUFFIXES) {
+      if (name.endsWith(suffix)) {
+        return name.substring(0, name.length() - suffix.length());
+      }
+    }
+    return name;
+  }
+
+  /**
+   * Returns the CSV file on the file system if it is not compressed.
+   *
+   * @return the uncompressed file, or {@code null} if the source is not such a file
+   * @throws IOException if an I/O error occurs
+   */
+  @Nullable
+  final Path plainFile() throws IOException {
+    var file = file();
+    var name = fileName();
+    if (file == null || name == null || !name.equals(baseName())) {
+      return null;
+    }
+    var magic = new byte[2];
+    try (var in = Files.newInputStream(file)) {
+      if (in.readNBytes(magic, 0, 2) == 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+        return null;
+      }
+    }
+    return file;
+  }
+
+  /**
+   * Opens a new stream to read the raw bytes of the CSV file.
+   *
+   * @return the new stream
+   * @throws IOException if an I/O error occurs
+   */
+  abstract InputStream openRaw() throws IOException;
+
+  /**
+   * Returns the name of the CSV file.
+   *
+   * @return the file name, or {@code null} if the source has no name
+   */
+  @Nullable
+  abstract String fileName();
+
+  /**
+   * Returns the CSV file on the file system.
+   *
+   * @return the file, or {@code null} if the source is not a file on the default file system
+   */
+  @Nullable
+  abstract Path file();
+
+  /**
+   * Returns the identifier of the CSV file used as a cache key.
+   *
+   * @return the identifier, or {@code null} if the source cannot be read more than once
+   */
+  @Nullable
+  abstract String id();
+
+  /**
+   * Returns the modification time of the CSV file.
+   *
+   * @return the modification time in milliseconds, or {@code 0} if it is unknown
+   * @throws IOException if an I/O error occurs
+   */
+  abstract long lastModified() throws IOException;
+
+  private static final class UrlSource extends Source {
+
+    private final URL location;
+
+    UrlSource(URL location) {
+      this.location = location;
+    }
+
+    @Override
+    InputStream openRaw() throws IOException {
+      return location.openStream();
+    }
+
+    @Override
+    String fileName() {
+      if ("file".equals(location.getProtocol())) {
+        try {
+          return Path.of(location.toURI()).getFileName().toString();
+        } catch (URISyntaxException e) {
+          throw new DbSetupRuntimeException(e);
+        }
+      }
+      var path = location.getPath();
+      return URLDecoder.decode(path.substring(path.lastIndexOf('/') + 1), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @Nullable
+    Path file() {
+      if (!"file".equals(location.getProtocol())) {
+        return null;
+      }
+      try {
+        return Path.of(location.toURI());
+      } catch (URISyntaxException e) {
+        throw new DbSetupRuntimeException(e);
+      }
+    }
+
+    @Override
+    String id() {
+      return location.toExternalForm();
+    }
+
+    @Override
+    long lastModified() throws IOException {
+      if ("file".equals(location.getProtocol())) {
+        try {
+          return Files.getLastModifiedTime(Path.of(location.toURI())).toMillis();
+        } catch (URISyntaxException e) {
+          throw new IOException(e);
+        }
+      }
+      var connection = location.openConnection();
+      connection.setUseCaches(false);
+      return connection.getLastModified();
+    }
+
+    @Override
+    public String toString() {
+      return location.toString();
+    }
+  }
+
+  private static final class PathSource extends Source {
+
+    private final Path path;
+
+    PathSource(Path path) {
+      this.path = path;
+    }
+
+    @Override
+    InputStream openRaw() throws IOException {
+      return new ChannelInputStream(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    @Override
+    String fileName() {
+      var fileName = path.getFileName();
+      return fileName == null ? null : fileName.toString();
+    }
+
+    @Override
+    @Nullable
+    Path file() {
+      return path.getFileSystem() == FileSystems.getDefault() ? path : null;
+    }
+
+    @Override
+    String id() {
+      return path.toAbsolutePath().normalize().toUri().toString();
+    }
+
+    @Override
+    long lastModified() throws IOException {
+      return Files.getLastModifiedTime(path).toMillis();
+    }
+
+    @Override
+    public String toString() {
+      return path.toString();
+    }
+  }
+
+  private static final class ChannelSource extends Source {
+
+    @Nullable
+    private ReadableByteChannel channel;
+
+    ChannelSource(ReadableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    synchronized InputStream openRaw() throws IOException {
+      var ch = channel;
+      if (ch == null) {
+        throw new IOException("the channel has already been read");
+      }
+      channel = null;
+      return new ChannelInputStream(ch);
+    }
+
+    @Override
+    @Nullable
+    String fileName() {
+      return null;
+    }
+
+    @Override
+    @Nullable
+    Path file() {
+      return null;
+    }
+
+    @Override
+    @Nullable
+    String id() {
+      return null;
+    }
+
+    @Override
+    long lastModified() {
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return "channel";
+    }
+  }
+
+  /**
+   * An input stream which reads a channel through a heap buffer.
+   *
+   * <p>A heap buffer is used because the bytes are copied into the caller's array anyway; a direct buffer would
+   * only add an off-heap allocation per stream.</p>
+   */
+  private static final class ChannelInputStream extends InputStream {
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+    private boolean eof;
+
+    ChannelInputStream(ReadableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return fill() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      var n = Math.min(len, buffer.remaining());
+      buffer.get(b, off, n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+
+    private boolean fill() throws IOException {
+      while (!buffer.hasRemaining()) {
+        if (eof) {
+          return false;
+        }
+        buffer.clear();
+        var n = channel.read(buffer);
+        if (n == 0) {
+          throw new IOException("the channel returned no bytes");
+        }
+        eof = n == -1;
+        buffer.flip();
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Utilities to build and bind {@code INSERT}, {@code UPDATE}, {@code DELETE}, {@code MERGE} and {@code SELECT}
+ * statements.
+ */
+final class Statements {
+
+  private Statements() {
+  }
+
+  /**
+   * Returns the {@code INSERT} statement which inserts the given number of rows at once.
+   *
+   * @param table   the table name
+   * @param columns the column names
+   * @param rows    the number of rows
+   * @return the SQL statement
+   */
+  static String insertSql(String table, List<String> columns, int rows) {
+    var sql = new StringBuilder("insert into ").append(table).append(" (");
+    sql.append(String.join(", ", columns)).append(") values ");
+    for (var r = 0; r < rows; r++) {
+      sql.append(r == 0 ? "(" : ", (");
+      for (var i = 0; i < columns.size(); i++) {
+        sql.append(i == 0 ? "?" : ", ?");
+      }
+      sql.append(')');
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Returns the {@code SELECT} statement which reads the given columns of all rows.
+   *
+   * @param table   the table name
+   * @param columns the column names
+   * @return the SQL statement
+   */
+  static String selectSql(String table, List<String> columns) {
+    return "select " + String.join(", ", columns) + " from " + table;
+  }
+
+  /**
+   * Returns the {@code UPDATE} statement which updates a row by its key. The parameters are the columns to update
+   * followed by the key columns.
+   *
+   * @param table      the table name
+   * @param columns    the column names to update
+   * @param keyColumns the key column names
+   * @return the SQL statement
+   */
+  static String updateSql(String table, List<String> columns, List<String> keyColumns) {
+    var sql = new StringBuilder("update ").append(table).append(" set ");
+    for (var i = 0; i < columns.size(); i++) {
+      sql.append(i == 0 ? "" : ", ").append(columns.get(i)).append(" = ?");
+    }
+    return sql.append(where(keyColumns)).toString();
+  }
+
+  /**
+   * Returns the {@code DELETE} statement which deletes a row by its key.
+   *
+   * @param table      the table name
+   * @param keyColumns the key column names
+   * @return the SQL statement
+   */
+  static String deleteSql(String table, List<String> keyColumns) {
+    return "delete from " + table + where(keyColumns);
+  }
+
+  /**
+   * Returns H2's {@code MERGE INTO ... KEY (...) VALUES (...)} statement which inserts or updates a row.
+   *
+   * @param table      the table name
+   * @param columns    the column names
+   * @param keyColumns the key column names
+   * @return the SQL statement
+   */
+  static String mergeSql(String table, List<String> columns, List<String> keyColumns) {
+    var sql = new StringBuilder("merge into ").append(table).append(" (");
+    sql.append(String.join(", ", columns)).append(") key (").append(String.join(", ", keyColumns))
+        .append(") values (");
+    for (var i = 0; i < columns.size(); i++) {
+      sql.append(i == 0 ? "?" : ", ?");
+    }
+    return sql.append(')').toString();
+  }
+
+  /**
+   * Resolves the binders for the first {@code size} parameters of the given statement, in the same way as
+   * DbSetup's {@code Insert} operation does.
+   *
+   * @param statement     the statement
+   * @param size          the number of parameters
+   * @param configuration the binder configuration
+   * @return the binders
+   * @throws SQLException if a database access error occurs
+   */
+  static Binder[] binders(PreparedStatement statement, int size, BinderConfiguration configuration)
+      throws SQLException {
+    @Nullable ParameterMetaData metadata;
+    try {
+      metadata = statement.getParameterMetaData();
+    } catch (SQLException e) {
+      metadata = null;
+    }
+    var binders = new Binder[size];
+    for (var i = 0; i < size; i++) {
+      var binder = configuration.getBinder(metadata, i + 1);
+      if (binder == null) {
+        throw new IllegalStateException("null binder returned from configuration " + configuration.getClass());
+      }
+      binders[i] = binder;
+    }
+    return binders;
+  }
+
+  /**
+   * Binds the values of a row.
+   *
+   * @param statement the statement
+   * @param binders   the binders of the columns
+   * @param offset    the number of parameters preceding the row
+   * @param values    the values of the row
+   * @throws SQLException if a database access error occurs
+   */
+  static void bind(PreparedStatement statement, Binder[] binders, int offset, Object[] values) throws SQLException {
+    for (var i = 0; i < binders.length; i++) {
+      binders[i].bind(statement, offset + i + 1, values[i]);
+    }
+  }
+
+  private static String where(List<String> keyColumns) {
+    var sql = new StringBuilder(" where ");
+    for (var i = 0; i < keyColumns.size(); i++) {
+      sql.append(i == 0 ? "" : " and ").append(keyColumns.get(i)).append(" = ?");
+    }
+    return sql.toString();
+  }
+}
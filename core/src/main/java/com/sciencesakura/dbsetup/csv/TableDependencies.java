@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Orders tables so that the tables referenced by foreign keys come before the tables referencing them.
+ */
+final class TableDependencies {
+
+  private TableDependencies() {
+  }
+
+  /**
+   * Splits the given items into levels by the foreign keys between their tables.
+   *
+   * <p>The tables of each level reference only the tables of the preceding levels, so the items of a level can be
+   * imported in any order once the preceding levels have been imported. The items of each level keep the given
+   * order. If the foreign keys form a cycle, the items in the cycle are put in the last level.</p>
+   *
+   * @param metadata the database metadata to read the foreign keys
+   * @param items    the items to order
+   * @param table    the function which returns the table name of an item
+   * @param <T>      the type of the items
+   * @return the levels of the items
+   * @throws SQLException if a database access error occurs
+   */
+  static <T> List<List<T>> levels(DatabaseMetaData metadata, List<T> items, Function<T, String> table)
+      throws SQLException {
+    var defaultSchema = metadata.getConnection().getSchema();
+    var tables = new ArrayList<TableName>(items.size());
+    var names = new ArrayList<String>(items.size());
+    var known = new HashSet<String>();
+    for (var item : items) {
+      var tableName = TableName.of(metadata, table.apply(item), defaultSchema);
+      var name = tableName.key();
+      tables.add(tableName);
+      names.add(name);
+      known.add(name);
+    }
+    var references = new HashMap<String, Set<String>>();
+    for (var i = 0; i < items.size(); i++) {
+      if (!references.containsKey(names.get(i))) {
+        references.put(names.get(i), referencedTables(metadata, tables.get(i), known));
+      }
+    }
+    var levels = new ArrayList<List<T>>();
+    var done = new HashSet<String>();
+    var remaining = new ArrayList<Integer>();
+    for (var i = 0; i < items.size(); i++) {
+      remaining.add(i);
+    }
+    while (!remaining.isEmpty()) {
+      var level = new ArrayList<T>();
+      var levelNames = new HashSet<String>();
+      var next = new ArrayList<Integer>();
+      for (var i : remaining) {
+        if (done.containsAll(references.get(names.get(i)))) {
+          level.add(items.get(i));
+          levelNames.add(names.get(i));
+        } else {
+          next.add(i);
+        }
+      }
+      if (level.isEmpty()) {
+        for (var i : next) {
+          level.add(items.get(i));
+        }
+        next.clear();
+      }
+      levels.add(level);
+      done.addAll(levelNames);
+      remaining = next;
+    }
+    return levels;
+  }
+
+  private static Set<String> referencedTables(DatabaseMetaData metadata, TableName table, Set<String> known)
+      throws SQLException {
+    var self = table.key();
+    var referenced = new HashSet<String>();
+    try (var rs = metadata.getImportedKeys(metadata.getConnection().getCatalog(), table.schema, table.name)) {
+      while (rs.next()) {
+        var pkTable = key(rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME"));
+        if (!pkTable.equals(self) && known.contains(pkTable)) {
+          referenced.add(pkTable);
+        }
+      }
+    }
+    return referenced;
+  }
+
+  private static String key(@Nullable String schema, String table) {
+    return schema == null ? table : schema + '.' + table;
+  }
+
+  /**
+   * A table name split into the schema and the table name in the case in which the database stores them.
+   */
+  private static final class TableName {
+
+    @Nullable
+    final String schema;
+
+    final String name;
+
+    private TableName(@Nullable String schema, String name) {
+      this.schema = schema;
+      this.name = name;
+    }
+
+    /**
+     * Parses the given table name, resolving an unqualified name against the default schema of the connection.
+     */
+    static TableName of(DatabaseMetaData metadata, String table, @Nullable String defaultSchema)
+        throws SQLException {
+      var p = table.lastIndexOf('.');
+      var schema = p == -1 ? defaultSchema : Identifiers.stored(metadata, table.substring(0, p));
+      return new TableName(schema, Identifiers.stored(metadata, table.substring(p + 1)));
+    }
+
+    String key() {
+      return TableDependencies.key(schema, name);
+    }
+  }
+}
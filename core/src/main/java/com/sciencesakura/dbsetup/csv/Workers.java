@@ -0,0 +1,143 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import com.ninja_squad.dbsetup.destination.Destination;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Utilities to run import tasks concurrently, each over its own connection.
+ *
+ * <p>Shared by {@link ImportRunner} and {@link ShardedImport}, so that both wrap the errors and roll back the
+ * connections in the same way.</p>
+ */
+final class Workers {
+
+  private Workers() {
+  }
+
+  /**
+   * Runs the given job with a list of connections and an executor service. If the job fails, all connections
+   * are rolled back; in any case, they are closed afterwards.
+   *
+   * @param executor   the executor service to use, or {@code null} to create a fixed thread pool for the job
+   * @param threads    the number of threads of the pool to create
+   * @param threadName the name of the threads of the pool to create
+   * @param job        the job, which adds the connections it opens to the given list
+   * @throws DbSetupRuntimeException if a database access error occurs
+   */
+  static void launch(@Nullable ExecutorService executor, int threads, String threadName, Job job) {
+    var connections = new ArrayList<Connection>(threads);
+    var service = executor != null ? executor : Executors.newFixedThreadPool(threads, runnable -> {
+      var thread = new Thread(runnable, threadName);
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      job.run(connections, service);
+    } catch (SQLException e) {
+      rollback(connections);
+      throw new DbSetupRuntimeException(e);
+    } catch (RuntimeException e) {
+      rollback(connections);
+      throw e;
+    } finally {
+      close(connections);
+      if (executor == null) {
+        service.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Opens a new connection with auto-commit disabled and adds it to the given list.
+   *
+   * @param destination the destination to get the connection from
+   * @param connections the list of the opened connections
+   * @return the new connection
+   * @throws SQLException if a database access error occurs
+   */
+  static Connection open(Destination destination, List<Connection> connections) throws SQLException {
+    var connection = destination.getConnection();
+    connections.add(connection);
+    connection.setAutoCommit(false);
+    return connection;
+  }
+
+  /**
+   * Waits for all the given tasks to complete and rethrows the first failure.
+   *
+   * @param futures the tasks
+   * @throws SQLException if a task has failed with it
+   */
+  static void await(List<Future<?>> futures) throws SQLException {
+    @Nullable Throwable failure = null;
+    for (var future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        throw new DbSetupRuntimeException(e);
+      }
+    }
+    if (failure instanceof SQLException) {
+      throw (SQLException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure != null) {
+      throw new DbSetupRuntimeException(failure);
+    }
+  }
+
+  private static void rollback(List<Connection> connections) {
+    for (var connection : connections) {
+      try {
+        connection.rollback();
+      } catch (SQLException e) {
+        // the original exception is more useful
+      }
+    }
+  }
+
+  private static void close(List<Connection> connections) {
+    for (var connection : connections) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        // nothing to do
+      }
+    }
+  }
+
+  /**
+   * A job run by {@link #launch(ExecutorService, int, String, Job)}.
+   */
+  @FunctionalInterface
+  interface Job {
+
+    /**
+     * Runs this job.
+     *
+     * @param connections the list to add the opened connections to
+     * @param service     the executor service to run the tasks
+     * @throws SQLException if a database access error occurs
+     */
+    void run(List<Connection> connections, ExecutorService service) throws SQLException;
+  }
+}
@@ -0,0 +1,119 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static com.ninja_squad.dbsetup.Operations.truncate;
+import static com.sciencesakura.dbsetup.csv.Import.csv;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.bind.Binder;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
+import com.ninja_squad.dbsetup.destination.Destination;
+import com.ninja_squad.dbsetup.destination.DriverManagerDestination;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ParameterMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@NullUnmarked
+class BinderCacheTest {
+
+  @TempDir
+  Path dir;
+
+  Destination destination;
+
+  CountingConfiguration configuration;
+
+  @BeforeEach
+  void setUp() {
+    destination = new DriverManagerDestination("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1", "sa", null);
+    var ddl = sql("create table if not exists cached ("
+        + "id integer primary key,"
+        + "name varchar(100)"
+        + ")");
+    new DbSetup(destination, ddl).launch();
+    BinderCache.clear();
+    configuration = new CountingConfiguration();
+  }
+
+  @AfterEach
+  void tearDown() {
+    BinderCache.setMaxSize(256);
+    BinderCache.clear();
+  }
+
+  void launch(Import.Builder builder) {
+    new DbSetup(destination, sequenceOf(truncate("cached"), builder.build()), configuration).launch();
+  }
+
+  @Test
+  void resolve_binders_only_once() {
+    launch(csv("Cached/cached.csv"));
+    var lookups = configuration.lookups.get();
+    launch(csv("Cached/cached.csv"));
+    launch(csv("Cached/cached.csv").withBatchSize(10));
+    assertThat(lookups).isEqualTo(2);
+    assertThat(configuration.lookups).hasValue(2);
+    assertThat(BinderCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void distinguish_columns() throws IOException {
+    var file = Files.writeString(dir.resolve("reordered.csv"), "name,id\nAlice,1\n", StandardCharsets.UTF_8);
+    launch(csv("Cached/cached.csv"));
+    launch(csv(file).into("cached"));
+    launch(csv(file).into("cached").withBatchSize(10));
+    assertThat(BinderCache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void resolve_binders_again_after_clear() {
+    launch(csv("Cached/cached.csv"));
+    BinderCache.clear();
+    launch(csv("Cached/cached.csv"));
+    assertThat(configuration.lookups).hasValue(4);
+  }
+
+  @Test
+  void evict_least_recently_used_entries() throws IOException {
+    var file = Files.writeString(dir.resolve("reordered.csv"), "name,id\nAlice,1\n", StandardCharsets.UTF_8);
+    BinderCache.setMaxSize(1);
+    launch(csv("Cached/cached.csv"));
+    launch(csv(file).into("cached"));
+    assertThat(BinderCache.size()).isEqualTo(1);
+    launch(csv(file).into("cached"));
+    assertThat(configuration.lookups).hasValue(4);
+  }
+
+  @Test
+  void do_not_cache_unnamed_in_memory_database() {
+    var unnamed = new DriverManagerDestination("jdbc:h2:mem:", "sa", null);
+    var ddl = sql("create table cached (id integer primary key, name varchar(100))");
+    new DbSetup(unnamed, sequenceOf(ddl, csv("Cached/cached.csv").build()), configuration).launch();
+    assertThat(BinderCache.size()).isZero();
+  }
+
+  static class CountingConfiguration implements BinderConfiguration {
+
+    final AtomicInteger lookups = new AtomicInteger();
+
+    @Override
+    public Binder getBinder(ParameterMetaData metadata, int param) throws SQLException {
+      lookups.incrementAndGet();
+      return DefaultBinderConfiguration.INSTANCE.getBinder(metadata, param);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.sciencesakura.dbsetup.csv.Import.csv;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@NullUnmarked
+class CsvCacheTest {
+
+  @TempDir
+  Path dir;
+
+  AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    CsvCache.clear();
+    loads = new AtomicInteger();
+  }
+
+  @AfterEach
+  void tearDown() {
+    CsvCache.setMaxBytes(64L * 1024 * 1024);
+    CsvCache.clear();
+  }
+
+  RowSet load() {
+    loads.incrementAndGet();
+    return new RowSet(List.of("id"), List.<Object[]>of(new String[] {"1"}));
+  }
+
+  @Test
+  void distinguish_settings() {
+    csv("Cached/cached.csv").cached().build();
+    csv("Cached/cached.csv").cached().build();
+    csv("Cached/cached.csv").withNullAs("NULL").cached().build();
+    assertThat(CsvCache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void do_not_cache_rows_parsed_out_of_order() {
+    csv("Cached/cached.csv").parallelParsing(false).cached().build();
+    assertThat(CsvCache.size()).isZero();
+    csv("Cached/cached.csv").parallelParsing(true).cached().build();
+    assertThat(CsvCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void reload_modified_file() throws IOException {
+    var file = Files.writeString(dir.resolve("modified.csv"), "id\n1\n", StandardCharsets.UTF_8);
+    var source = Source.of(file);
+    CsvCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    CsvCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasValue(1);
+    Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2001-02-03T04:05:06Z")));
+    CsvCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void evict_least_recently_used_rows() throws IOException {
+    var source1 = Source.of(Files.writeString(dir.resolve("a.csv"), "id\n1\n", StandardCharsets.UTF_8));
+    var source2 = Source.of(Files.writeString(dir.resolve("b.csv"), "id\n1\n", StandardCharsets.UTF_8));
+    var source3 = Source.of(Files.writeString(dir.resolve("c.csv"), "id\n1\n", StandardCharsets.UTF_8));
+    CsvCache.setMaxBytes(150);
+    CsvCache.get(source1, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    CsvCache.get(source2, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    CsvCache.get(source1, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    CsvCache.get(source3, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(CsvCache.size()).isEqualTo(2);
+    assertThat(loads).hasValue(3);
+    CsvCache.get(source1, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasValue(3);
+    CsvCache.get(source2, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasValue(4);
+  }
+
+  @Test
+  void throw_iae_if_max_bytes_is_negative() {
+    assertThatThrownBy(() -> CsvCache.setMaxBytes(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBytes must not be negative");
+  }
+}
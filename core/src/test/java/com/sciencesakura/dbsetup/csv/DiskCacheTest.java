@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@NullUnmarked
+class DiskCacheTest {
+
+  @TempDir
+  Path dir;
+
+  Source source;
+
+  List<String> loads;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    var csv = Files.writeString(dir.resolve("disk_cache.csv"), "id,name\n1,Alice\n2,\n", StandardCharsets.UTF_8);
+    source = Source.of(csv);
+    loads = new ArrayList<>();
+    CsvCache.setDirectory(dir.resolve("cache"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    CsvCache.setDirectory(null);
+  }
+
+  RowSet load() {
+    loads.add("load");
+    return new RowSet(List.of("id", "name"), List.of(new String[] {"1", "Alice"}, new String[] {"2", null}));
+  }
+
+  @Test
+  void read_rows_from_row_file() throws IOException {
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    var rows = DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasSize(1);
+    assertThat(rows.columns()).containsExactly("id", "name");
+    assertThat(rows.values()).containsExactly(new String[] {"1", "Alice"}, new String[] {"2", null});
+  }
+
+  @Test
+  void distinguish_settings() throws IOException {
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.TDF, this::load);
+    DiskCache.get(source, StandardCharsets.UTF_16, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasSize(3);
+  }
+
+  @Test
+  void distinguish_content() throws IOException {
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    Files.writeString(dir.resolve("disk_cache.csv"), "id,name\n1,Bob\n", StandardCharsets.UTF_8);
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasSize(2);
+  }
+
+  @Test
+  void parse_again_if_row_file_is_corrupted() throws IOException {
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    try (var files = Files.list(dir.resolve("cache"))) {
+      var file = files.findFirst().orElseThrow();
+      Files.write(file, new byte[] {0x44, 0x42, 0x53, 0x43, 0, 0, 0, 1, 0, 0});
+    }
+    var rows = DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasSize(2);
+    assertThat(rows.values()).hasSize(2);
+  }
+
+  @Test
+  void parse_again_if_count_is_too_large() throws IOException {
+    DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    try (var files = Files.list(dir.resolve("cache"))) {
+      var file = files.findFirst().orElseThrow();
+      Files.write(file, new byte[] {0x44, 0x42, 0x53, 0x43, 0, 0, 0, 1, 0x7F, -1, -1, -1, 0, 0, 0, 0});
+    }
+    var rows = DiskCache.get(source, StandardCharsets.UTF_8, CSVFormat.DEFAULT, this::load);
+    assertThat(loads).hasSize(2);
+    assertThat(rows.values()).hasSize(2);
+  }
+}
@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static com.sciencesakura.dbsetup.csv.Import.csv;
+import static com.sciencesakura.dbsetup.csv.Import.csvDirectory;
+import static com.sciencesakura.dbsetup.csv.Import.tsv;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.db.api.Assertions.assertThat;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import com.ninja_squad.dbsetup.destination.Destination;
+import com.ninja_squad.dbsetup.destination.DriverManagerDestination;
+import java.util.concurrent.Executors;
+import org.assertj.core.api.Assertions;
+import org.assertj.db.type.AssertDbConnection;
+import org.assertj.db.type.AssertDbConnectionFactory;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ImportRunnerTest {
+
+  AssertDbConnection connection;
+
+  Destination destination;
+
+  @BeforeEach
+  void setUp() {
+    var url = "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1";
+    var username = "sa";
+    connection = AssertDbConnectionFactory.of(url, username, null).create();
+    destination = new DriverManagerDestination(url, username, null);
+    var ddl = sequenceOf(
+        sql("create table if not exists parent_table ("
+            + "id integer primary key,"
+            + "name varchar(100)"
+            + ")"),
+        sql("create table if not exists child_table ("
+            + "id integer primary key,"
+            + "parent_id integer references parent_table(id),"
+            + "name varchar(100)"
+            + ")"),
+        sql("create table if not exists grandchild_table ("
+            + "id integer primary key,"
+            + "child_id integer references child_table(id),"
+            + "name varchar(100)"
+            + ")"));
+    new DbSetup(destination, sequenceOf(ddl,
+        deleteAllFrom("grandchild_table", "child_table", "parent_table"))).launch();
+  }
+
+  @Test
+  void import_levels_over_several_connections() {
+    var runner = ImportRunner.to(destination)
+        .withParallelism(2)
+        .build();
+    runner.launch(csvDirectory("ImportSet/").build());
+    assertThat(connection.table("parent_table").build())
+        .hasNumberOfRows(2);
+    assertThat(connection.table("child_table").build())
+        .hasNumberOfRows(2)
+        .column("parent_id").containsValues(1, 2);
+    assertThat(connection.table("grandchild_table").build())
+        .hasNumberOfRows(1);
+  }
+
+  @Test
+  void commit_per_table_with_given_executor() {
+    var executor = Executors.newCachedThreadPool();
+    try {
+      var runner = ImportRunner.to(destination)
+          .withExecutor(executor)
+          .commitPerTable()
+          .build();
+      runner.launch(ImportSet.of(
+          csv("ImportSet/grandchild_table.csv"),
+          csv("ImportSet/child_table.csv"),
+          tsv("ImportSet/parent_table.tsv")).build());
+      Assertions.assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(connection.table("grandchild_table").build())
+        .hasNumberOfRows(1);
+  }
+
+  @Test
+  void roll_back_the_failed_level() {
+    var runner = ImportRunner.to(destination)
+        .withParallelism(2)
+        .build();
+    var importSet = ImportSet.of(
+        tsv("ImportSet/parent_table.tsv"),
+        csv("ImportSet/child_table.csv").into("missing_table")).build();
+    assertThatThrownBy(() -> runner.launch(importSet))
+        .isInstanceOf(DbSetupRuntimeException.class);
+    assertThat(connection.table("parent_table").build())
+        .hasNumberOfRows(0);
+  }
+
+  @Test
+  void reject_non_positive_parallelism() {
+    assertThatThrownBy(() -> ImportRunner.to(destination).withParallelism(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("parallelism must be greater than 0");
+  }
+}
@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.ninja_squad.dbsetup.Operations.deleteAllFrom;
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static com.sciencesakura.dbsetup.csv.Import.csv;
+import static com.sciencesakura.dbsetup.csv.Import.csvDirectory;
+import static com.sciencesakura.dbsetup.csv.Import.tsv;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.db.api.Assertions.assertThat;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.destination.Destination;
+import com.ninja_squad.dbsetup.destination.DriverManagerDestination;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.assertj.db.type.AssertDbConnection;
+import org.assertj.db.type.AssertDbConnectionFactory;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ImportSetTest {
+
+  AssertDbConnection connection;
+
+  Destination destination;
+
+  @BeforeEach
+  void setUp() {
+    var url = "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1";
+    var username = "sa";
+    connection = AssertDbConnectionFactory.of(url, username, null).create();
+    destination = new DriverManagerDestination(url, username, null);
+    var ddl = sequenceOf(
+        sql("create table if not exists parent_table ("
+            + "id integer primary key,"
+            + "name varchar(100)"
+            + ")"),
+        sql("create table if not exists child_table ("
+            + "id integer primary key,"
+            + "parent_id integer references parent_table(id),"
+            + "name varchar(100)"
+            + ")"),
+        sql("create table if not exists grandchild_table ("
+            + "id integer primary key,"
+            + "child_id integer references child_table(id),"
+            + "name varchar(100)"
+            + ")"));
+    new DbSetup(destination, sequenceOf(ddl,
+        deleteAllFrom("grandchild_table", "child_table", "parent_table"))).launch();
+  }
+
+  @Test
+  void import_files_in_directory_in_foreign_key_order() {
+    var operation = csvDirectory("ImportSet/").build();
+    new DbSetup(destination, operation).launch();
+    assertThat(connection.table("parent_table").build())
+        .hasNumberOfRows(2);
+    assertThat(connection.table("child_table").build())
+        .hasNumberOfRows(2)
+        .column("parent_id").containsValues(1, 2);
+    assertThat(connection.table("grandchild_table").build())
+        .hasNumberOfRows(1);
+  }
+
+  @Test
+  void import_builders_in_foreign_key_order() {
+    var operation = ImportSet.of(
+            csv("ImportSet/grandchild_table.csv"),
+            csv("ImportSet/child_table.csv"),
+            tsv("ImportSet/parent_table.tsv"))
+        .withPool(new ForkJoinPool(2))
+        .configureEach(Import.Builder::streaming)
+        .build();
+    new DbSetup(destination, operation).launch();
+    assertThat(connection.table("grandchild_table").build())
+        .hasNumberOfRows(1);
+  }
+
+  @Test
+  void split_tables_into_levels() throws SQLException {
+    var operation = csvDirectory("ImportSet").build();
+    try (var conn = destination.getConnection()) {
+      var levels = operation.levels(conn).stream()
+          .map(level -> level.stream().map(Import::table).collect(Collectors.toList()))
+          .collect(Collectors.toList());
+      Assertions.assertThat(levels).containsExactly(
+          List.of("parent_table"), List.of("child_table"), List.of("grandchild_table"));
+    }
+  }
+
+  @Test
+  void distinguish_tables_of_same_name_in_different_schemas() throws SQLException {
+    new DbSetup(destination, sequenceOf(
+        sql("create schema if not exists schema_a"),
+        sql("create schema if not exists schema_b"),
+        sql("create table if not exists schema_a.customers (id integer primary key)"),
+        sql("create table if not exists schema_a.orders ("
+            + "id integer primary key,"
+            + "customer_id integer references schema_a.customers(id)"
+            + ")"),
+        sql("create table if not exists schema_b.orders (id integer primary key)"))).launch();
+    var operation = ImportSet.of(
+            csv("ImportSet/child_table.csv").into("schema_b.orders"),
+            csv("ImportSet/child_table.csv").into("schema_a.orders"),
+            tsv("ImportSet/parent_table.tsv").into("schema_a.customers"))
+        .build();
+    try (var conn = destination.getConnection()) {
+      var levels = operation.levels(conn).stream()
+          .map(level -> level.stream().map(Import::table).collect(Collectors.toList()))
+          .collect(Collectors.toList());
+      Assertions.assertThat(levels).containsExactly(
+          List.of("schema_b.orders", "schema_a.customers"), List.of("schema_a.orders"));
+    }
+  }
+
+  @Test
+  void throw_iae_if_directory_has_been_not_found() {
+    assertThatThrownBy(() -> csvDirectory("not_found"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("not_found not found");
+  }
+
+  @Test
+  void throw_npe_if_builders_contain_null() {
+    assertThatThrownBy(() -> ImportSet.of(csv("ImportSet/child_table.csv"), null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("builders must not contain null");
+  }
+}
@@ -11,26 +11,47 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.db.api.Assertions.assertThat;
 
 import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.DbSetupRuntimeException;
+import com.ninja_squad.dbsetup.bind.BinderConfiguration;
+import com.ninja_squad.dbsetup.bind.DefaultBinderConfiguration;
 import com.ninja_squad.dbsetup.destination.Destination;
 import com.ninja_squad.dbsetup.destination.DriverManagerDestination;
 import com.ninja_squad.dbsetup.generator.ValueGenerators;
+import com.ninja_squad.dbsetup.operation.Operation;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URISyntaxException;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.JDBCType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
 import org.assertj.db.type.AssertDbConnection;
 import org.assertj.db.type.AssertDbConnectionFactory;
 import org.assertj.db.type.Changes;
 import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 @NullUnmarked
 class ImportTest {
@@ -116,7 +137,7 @@ class ImportTest {
 
     @Test
     void throw_npe_if_location_is_null() {
-      assertThatThrownBy(() -> csv(null))
+      assertThatThrownBy(() -> csv((String) null))
           .isInstanceOf(NullPointerException.class)
           .hasMessage("location must not be null");
     }
@@ -591,4 +612,1333 @@ class ImportTest {
           .hasMessage("valueGenerator must not be null");
     }
   }
+
+  @Nested
+  class Streaming {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists streaming ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("streaming"))).launch();
+      changes = connection.changes().table("streaming").build();
+    }
+
+    @Test
+    void import_rows_while_reading() {
+      changes.setStartPointNow();
+      var operation = csv("Streaming/streaming.csv").streaming().build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1500)
+          .changeOfCreation(0)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("name1")
+          .changeOfCreation(1499)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1500)
+          .value("name").isEqualTo("name1500");
+    }
+
+    @Test
+    void read_file_on_each_execution() {
+      var operation = csv("Streaming/streaming.csv").streaming().build();
+      new DbSetup(destination, operation).launch();
+      new DbSetup(destination, sequenceOf(truncate("streaming"), operation)).launch();
+      assertThat(connection.table("streaming").build())
+          .hasNumberOfRows(1500);
+    }
+
+    @Test
+    void import_rows_through_pipeline() {
+      changes.setStartPointNow();
+      var operation = csv("Streaming/streaming.csv")
+          .withBatchSize(100)
+          .withPipelineDepth(2)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1500)
+          .changeOfCreation(1499)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1500)
+          .value("name").isEqualTo("name1500");
+    }
+
+    @Test
+    void import_rows_with_simple_tokenizer() {
+      changes.setStartPointNow();
+      var operation = csv("Streaming/streaming.csv")
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1500)
+          .changeOfCreation(1499)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1500)
+          .value("name").isEqualTo("name1500");
+    }
+
+    @Test
+    void stop_pipeline_when_insert_fails() {
+      var operation = csv("Streaming/streaming.csv")
+          .withBatchSize(10)
+          .withPipelineDepth(1)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThatThrownBy(() -> new DbSetup(destination, operation).launch())
+          .isInstanceOf(DbSetupRuntimeException.class);
+      assertThat(connection.table("streaming").build())
+          .hasNumberOfRows(1500);
+    }
+
+    @Test
+    void throw_iae_if_queue_depth_is_not_positive() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(() -> builder.withPipelineDepth(0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("queueDepth must be greater than 0");
+    }
+  }
+
+  @Nested
+  class WithBatchSize {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_batch_size ("
+          + "id integer primary key,"
+          + "name varchar(100),"
+          + "code integer"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_batch_size"))).launch();
+      changes = connection.changes().table("with_batch_size").build();
+    }
+
+    @Test
+    void insert_rows_in_batches() {
+      changes.setStartPointNow();
+      var operation = csv("WithBatchSize/with_batch_size.csv")
+          .withGeneratedValue("code", ValueGenerators.sequence().startingAt(10))
+          .withBatchSize(2)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .value("code").isEqualTo(10)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isEqualTo("Bob")
+          .value("code").isEqualTo(11)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(3)
+          .value("name").isEqualTo("Carol")
+          .value("code").isEqualTo(12);
+    }
+
+    @Test
+    void insert_rows_in_batches_while_streaming() {
+      changes.setStartPointNow();
+      var operation = csv("WithBatchSize/with_batch_size.csv")
+          .withDefaultValue("code", 1)
+          .withBatchSize(2)
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("code").isEqualTo(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("code").isEqualTo(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(3)
+          .value("code").isEqualTo(1);
+    }
+
+    @Test
+    void throw_iae_if_batch_size_is_not_positive() {
+      var builder = csv("WithBatchSize/with_batch_size.csv");
+      assertThatThrownBy(() -> builder.withBatchSize(0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("batchSize must be greater than 0");
+    }
+  }
+
+  @Nested
+  class WithMultiRowValues {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_multi_row_values ("
+          + "id integer primary key,"
+          + "name varchar(100),"
+          + "code integer"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_multi_row_values"))).launch();
+      changes = connection.changes().table("with_multi_row_values").build();
+    }
+
+    @Test
+    void insert_several_rows_per_statement() {
+      changes.setStartPointNow();
+      var operation = csv("WithMultiRowValues/with_multi_row_values.csv")
+          .withGeneratedValue("code", ValueGenerators.sequence())
+          .withMultiRowValues(6)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(5)
+          .changeOfCreation(0)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .value("code").isEqualTo(1)
+          .changeOfCreation(4)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(5)
+          .value("name").isEqualTo("Eve")
+          .value("code").isEqualTo(5);
+    }
+
+    @Test
+    void insert_several_rows_per_statement_in_batches() {
+      changes.setStartPointNow();
+      var operation = csv("WithMultiRowValues/with_multi_row_values.csv")
+          .withMultiRowValues(4)
+          .withBatchSize(2)
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(5)
+          .changeOfCreation(0)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .changeOfCreation(4)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(5)
+          .value("name").isEqualTo("Eve");
+    }
+
+    @Test
+    void throw_iae_if_max_parameters_is_not_positive() {
+      var builder = csv("WithMultiRowValues/with_multi_row_values.csv");
+      assertThatThrownBy(() -> builder.withMultiRowValues(0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("maxParameters must be greater than 0");
+    }
+  }
+
+  @Nested
+  class Cached {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists cached ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("cached"))).launch();
+      changes = connection.changes().table("cached").build();
+      CsvCache.clear();
+    }
+
+    @Test
+    void reuse_parsed_rows() {
+      csv("Cached/cached.csv").cached().build();
+      changes.setStartPointNow();
+      var operation = csv("Cached/cached.csv").cached().build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isEqualTo("Bob");
+    }
+  }
+
+  @Nested
+  class WithDiskCache {
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_disk_cache ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_disk_cache"))).launch();
+      changes = connection.changes().table("with_disk_cache").build();
+      CsvCache.setDirectory(cacheDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+      CsvCache.setDirectory(null);
+    }
+
+    @Test
+    void import_rows_from_row_file() {
+      csv("WithDiskCache/with_disk_cache.csv").build();
+      changes.setStartPointNow();
+      var operation = csv("WithDiskCache/with_disk_cache.csv").build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isEqualTo("Bob");
+    }
+  }
+
+  @Nested
+  class PathAndChannel {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists path_and_channel ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("path_and_channel"))).launch();
+      changes = connection.changes().table("path_and_channel").build();
+    }
+
+    @Test
+    void import_csv_file_from_path() throws IOException {
+      var path = Files.writeString(dir.resolve("path_and_channel.csv"), "id,name\n1,Alice\n");
+      changes.setStartPointNow();
+      var operation = csv(path).build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice");
+    }
+
+    @Test
+    void import_tsv_file_from_path() throws IOException {
+      var path = Files.writeString(dir.resolve("path_and_channel.tsv"), "id\tname\n1\tAlice\n");
+      changes.setStartPointNow();
+      var operation = tsv(path).streaming().build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice");
+    }
+
+    @Test
+    void import_csv_file_from_channel() throws IOException {
+      var path = Files.writeString(dir.resolve("data.csv"), "id,name\n1,Alice\n");
+      changes.setStartPointNow();
+      var operation = csv(Files.newByteChannel(path)).into("path_and_channel").build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice");
+    }
+
+    @Test
+    void throw_ise_if_table_name_is_not_specified_for_channel() throws IOException {
+      var path = Files.writeString(dir.resolve("data.csv"), "id,name\n1,Alice\n");
+      try (var channel = Files.newByteChannel(path)) {
+        var builder = csv(channel);
+        assertThatThrownBy(builder::build)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("table must be specified for channel");
+      }
+    }
+
+    @Test
+    void throw_npe_if_path_is_null() {
+      assertThatThrownBy(() -> csv((Path) null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("path must not be null");
+    }
+
+    @Test
+    void throw_iae_if_path_has_been_not_found() {
+      var path = dir.resolve("not_found.csv");
+      assertThatThrownBy(() -> csv(path))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage(path + " not found");
+    }
+
+    @Test
+    void throw_npe_if_channel_is_null() {
+      assertThatThrownBy(() -> csv((ReadableByteChannel) null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("channel must not be null");
+    }
+
+    @Test
+    void throw_iae_if_channel_is_non_blocking() throws IOException {
+      var pipe = Pipe.open();
+      try (var source = pipe.source(); var sink = pipe.sink()) {
+        source.configureBlocking(false);
+        assertThatThrownBy(() -> csv(source))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("channel must be in blocking mode");
+      }
+    }
+  }
+
+  @Nested
+  class Compressed {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists compressed ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("compressed"))).launch();
+      changes = connection.changes().table("compressed").build();
+    }
+
+    @Test
+    void decompress_gzip_file() {
+      changes.setStartPointNow();
+      var operation = csv("Compressed/compressed.csv.gz").build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isEqualTo("Bob");
+    }
+
+    @Test
+    void decompress_deflate_file() {
+      changes.setStartPointNow();
+      var operation = tsv("Compressed/compressed.tsv.deflate").streaming().build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(1)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(3)
+          .value("name").isEqualTo("Carol");
+    }
+
+    @Test
+    void decompress_gzip_channel() throws IOException, URISyntaxException {
+      var path = Path.of(getClass().getClassLoader().getResource("Compressed/compressed.csv.gz").toURI());
+      changes.setStartPointNow();
+      var operation = csv(Files.newByteChannel(path)).into("compressed").build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2);
+    }
+  }
+
+  @Nested
+  class BulkLoad {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists bulk_load ("
+          + "id integer primary key,"
+          + "name varchar(100),"
+          + "note varchar(100),"
+          + "created_at varchar(10)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("bulk_load"))).launch();
+      changes = connection.changes().table("bulk_load").build();
+    }
+
+    @Test
+    void load_file_with_database() {
+      changes.setStartPointNow();
+      var operation = csv("BulkLoad/bulk_load.csv").bulkLoad().build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .value("note").isEqualTo("quoted")
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isNull()
+          .value("note").isNull()
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(3)
+          .value("name").isEqualTo("Bob, \"Jr\"")
+          .value("note").isEqualTo("x");
+    }
+
+    @Test
+    void load_file_with_format_settings() {
+      changes.setStartPointNow();
+      var operation = tsv("BulkLoad/bulk_load.tsv")
+          .into("bulk_load")
+          .withHeader("id", "name", "note")
+          .withQuote('\'')
+          .bulkLoad()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(4)
+          .value("name").isEqualTo("Carol")
+          .value("note").isNull()
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(5)
+          .value("name").isEqualTo("Dave 'D'")
+          .value("note").isEqualTo("note");
+    }
+
+    @Test
+    void fall_back_to_batch_insert_if_default_value_specified() {
+      changes.setStartPointNow();
+      var operation = csv("BulkLoad/bulk_load.csv")
+          .withDefaultValue("created_at", "2025-01-01")
+          .bulkLoad()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("name").isEqualTo("Alice")
+          .value("note").isEqualTo("quoted")
+          .value("created_at").isEqualTo("2025-01-01");
+    }
+
+    @Test
+    void fall_back_to_batch_insert_if_null_string_specified() {
+      changes.setStartPointNow();
+      var operation = csv("BulkLoad/bulk_load.csv")
+          .withNullAs("x")
+          .bulkLoad()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation(1)
+          .rowAtEndPoint()
+          .value("name").isEqualTo("")
+          .changeOfCreation(2)
+          .rowAtEndPoint()
+          .value("note").isNull();
+    }
+  }
+
+  @Nested
+  class WithColumnType {
+
+    Map<String, Class<?>> boundTypes;
+
+    BinderConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_column_type ("
+          + "id integer primary key,"
+          + "amount decimal(10, 2),"
+          + "born_on date,"
+          + "updated_at timestamp,"
+          + "active boolean,"
+          + "token uuid,"
+          + "label varchar(10)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_column_type"))).launch();
+      changes = connection.changes().table("with_column_type").build();
+      boundTypes = new ConcurrentHashMap<>();
+      configuration = (metadata, param) -> {
+        var binder = DefaultBinderConfiguration.INSTANCE.getBinder(metadata, param);
+        return (statement, index, value) -> {
+          if (value != null) {
+            boundTypes.put(metadata.getParameterTypeName(param), value.getClass());
+          }
+          binder.bind(statement, index, value);
+        };
+      };
+      BinderCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+      BinderCache.clear();
+    }
+
+    @Test
+    void convert_declared_types() {
+      changes.setStartPointNow();
+      var operation = csv("WithColumnType/with_column_type.csv")
+          .withColumnType("ID", Integer.class)
+          .withColumnType("amount", BigDecimal.class)
+          .withColumnType("born_on", JDBCType.DATE)
+          .withColumnType("updated_at", LocalDateTime.class)
+          .withColumnType("active", Boolean.class)
+          .withColumnType("token", UUID.class)
+          .build();
+      new DbSetup(destination, operation, configuration).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("amount").isEqualTo(new BigDecimal("12.50"))
+          .value("born_on").isEqualTo(LocalDate.of(2024, 2, 29))
+          .value("updated_at").isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 20, 30))
+          .value("active").isTrue()
+          .value("token").isEqualTo(UUID.fromString("0b1d2c3e-4f50-4a6b-8c7d-9e0f1a2b3c4d"))
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("amount").isNull()
+          .value("active").isFalse();
+      Assertions.assertThat(boundTypes)
+          .containsEntry("INTEGER", Integer.class)
+          .containsEntry("DECIMAL", BigDecimal.class)
+          .containsEntry("DATE", LocalDate.class)
+          .containsEntry("TIMESTAMP", LocalDateTime.class)
+          .containsEntry("UUID", UUID.class)
+          .containsEntry("CHARACTER VARYING", String.class);
+    }
+
+    @Test
+    void infer_types_from_metadata() {
+      changes.setStartPointNow();
+      var operation = csv("WithColumnType/with_column_type.csv")
+          .inferColumnTypes()
+          .streaming()
+          .build();
+      new DbSetup(destination, operation, configuration).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("updated_at").isEqualTo(LocalDateTime.of(2024, 3, 1, 10, 20, 30));
+      Assertions.assertThat(boundTypes)
+          .containsEntry("INTEGER", Integer.class)
+          .containsEntry("DATE", LocalDate.class)
+          .containsEntry("BOOLEAN", Boolean.class)
+          .containsEntry("UUID", UUID.class);
+    }
+
+    @Test
+    void throw_iae_if_value_cannot_be_converted() {
+      var builder = csv("WithColumnType/invalid.csv").withColumnType("amount", BigDecimal.class);
+      assertThatThrownBy(builder::build)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("cannot convert 'abc' of column amount to BigDecimal");
+    }
+
+    @Test
+    void throw_iae_if_type_is_not_supported() {
+      var builder = csv("WithColumnType/with_column_type.csv");
+      assertThatThrownBy(() -> builder.withColumnType("id", Object.class))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("unsupported column type: java.lang.Object");
+      assertThatThrownBy(() -> builder.withColumnType("id", JDBCType.BLOB))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("unsupported column type: BLOB");
+    }
+  }
+
+  @Nested
+  class WithColumns {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_columns ("
+          + "id integer primary key,"
+          + "name varchar(100),"
+          + "memo varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_columns"))).launch();
+      changes = connection.changes().table("with_columns").build();
+    }
+
+    @Test
+    void import_only_specified_columns() {
+      changes.setStartPointNow();
+      var operation = csv("WithColumns/with_columns.csv")
+          .withColumns("name", "id")
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation()
+          .rowAtEndPoint()
+          .value("id").isEqualTo(1)
+          .value("name").isEqualTo("Alice")
+          .value("memo").isNull();
+    }
+
+    @Test
+    void exclude_columns_while_streaming() {
+      changes.setStartPointNow();
+      var operation = csv("WithColumns/with_columns.csv")
+          .excludeColumns("legacy_code", "unknown")
+          .withDefaultValue("memo", "fixed")
+          .excludeColumns("memo")
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(2)
+          .changeOfCreation(1)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(2)
+          .value("name").isEqualTo("Bob")
+          .value("memo").isEqualTo("fixed");
+    }
+
+    @Test
+    void throw_iae_if_specified_column_is_not_found() {
+      var builder = csv("WithColumns/with_columns.csv").withColumns("id", "unknown");
+      assertThatThrownBy(builder::build)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("column unknown is not found in the CSV file");
+    }
+
+    @Test
+    void throw_npe_if_columns_contain_null() {
+      var builder = csv("WithColumns/with_columns.csv");
+      assertThatThrownBy(() -> builder.withColumns("id", null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("columns must not contain null");
+      assertThatThrownBy(() -> builder.excludeColumns((String[]) null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("columns must not be null");
+    }
+  }
+
+  @Nested
+  class SelectRows {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists select_rows ("
+          + "id integer primary key,"
+          + "grp integer"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("select_rows"))).launch();
+      changes = connection.changes().table("select_rows").build();
+    }
+
+    @Test
+    void skip_and_limit_rows() {
+      changes.setStartPointNow();
+      var operation = csv("SelectRows/select_rows.csv")
+          .skip(5)
+          .limit(3)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(changes.setEndPointNow())
+          .hasNumberOfChanges(3)
+          .changeOfCreation(0)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(6)
+          .changeOfCreation(2)
+          .rowAtEndPoint()
+          .value("id").isEqualTo(8);
+    }
+
+    @Test
+    void stop_reading_when_limit_reached() {
+      var tested = new ArrayList<String>();
+      var operation = csv("SelectRows/select_rows.csv")
+          .filter(row -> tested.add(row.get("id")))
+          .filter(row -> row.get("grp").equals("0"))
+          .limit(2)
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("select_rows").build())
+          .column("id").containsValues(3, 6);
+      Assertions.assertThat(tested).containsExactly("1", "2", "3", "4", "5", "6");
+    }
+
+    @Test
+    void sample_same_rows_with_same_seed() {
+      var first = csv("SelectRows/select_rows.csv").sample(0.5, 42).build();
+      var second = csv("SelectRows/select_rows.csv").sample(0.5, 42).withPipelineDepth(1).build();
+      new DbSetup(destination, first).launch();
+      var sampled = connection.request("select id from select_rows order by id").build();
+      var ids = new ArrayList<Object>();
+      for (var i = 0; i < sampled.getRowsList().size(); i++) {
+        ids.add(sampled.getRow(i).getColumnValue("id").getValue());
+      }
+      new DbSetup(destination, sequenceOf(truncate("select_rows"), second)).launch();
+      assertThat(connection.request("select id from select_rows order by id").build())
+          .column("id").containsValues(ids.toArray());
+      Assertions.assertThat(ids).hasSizeBetween(1, 19);
+    }
+
+    @Test
+    void throw_iae_if_selection_is_invalid() {
+      var builder = csv("SelectRows/select_rows.csv");
+      assertThatThrownBy(() -> builder.limit(-1))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("limit must not be negative");
+      assertThatThrownBy(() -> builder.skip(-1))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("skip must not be negative");
+      assertThatThrownBy(() -> builder.sample(1.5, 0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("fraction must be between 0 and 1");
+    }
+  }
+
+  @Nested
+  class WithListener {
+
+    final List<ImportMetrics> metrics = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists with_listener ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("with_listener"))).launch();
+    }
+
+    long fileSize() throws IOException, URISyntaxException {
+      return Files.size(Path.of(getClass().getClassLoader().getResource("Streaming/streaming.csv").toURI()));
+    }
+
+    @Test
+    void report_metrics_of_rows_read_in_advance() throws IOException, URISyntaxException {
+      var operation = csv("Streaming/streaming.csv").into("with_listener")
+          .withBatchSize(500)
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      new DbSetup(destination, sequenceOf(truncate("with_listener"), operation)).launch();
+      Assertions.assertThat(metrics).hasSize(2).allSatisfy(m -> {
+        Assertions.assertThat(m.table()).isEqualTo("with_listener");
+        Assertions.assertThat(m.bytesRead()).isEqualTo(fileSize());
+        Assertions.assertThat(m.rowsParsed()).isEqualTo(1500);
+        Assertions.assertThat(m.rowsInserted()).isEqualTo(1500);
+        Assertions.assertThat(m.batchesExecuted()).isEqualTo(3);
+        Assertions.assertThat(m.parseTime()).isPositive();
+        Assertions.assertThat(m.insertTime()).isPositive();
+        Assertions.assertThat(m.rowsPerSecond()).isPositive();
+      });
+    }
+
+    @Test
+    void report_metrics_while_streaming() throws IOException, URISyntaxException {
+      var operation = csv("Streaming/streaming.csv").into("with_listener")
+          .streaming()
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      Assertions.assertThat(metrics).singleElement().satisfies(m -> {
+        Assertions.assertThat(m.bytesRead()).isEqualTo(fileSize());
+        Assertions.assertThat(m.rowsParsed()).isEqualTo(1500);
+        Assertions.assertThat(m.rowsInserted()).isEqualTo(1500);
+        Assertions.assertThat(m.batchesExecuted()).isEqualTo(1500);
+        Assertions.assertThat(m.parseTime()).isPositive();
+        Assertions.assertThat(m.insertTime()).isPositive();
+      });
+    }
+
+    @Test
+    void report_bytes_before_decompression(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("with_listener.csv.gz");
+      try (var out = new GZIPOutputStream(Files.newOutputStream(file))) {
+        out.write("id,name\n1,Alice\n2,Bob\n".getBytes(StandardCharsets.UTF_8));
+      }
+      var operation = csv(file).streaming().withListener(metrics::add).build();
+      new DbSetup(destination, operation).launch();
+      Assertions.assertThat(metrics).singleElement().satisfies(m -> {
+        Assertions.assertThat(m.bytesRead()).isEqualTo(Files.size(file));
+        Assertions.assertThat(m.rowsInserted()).isEqualTo(2);
+      });
+    }
+
+    @Test
+    void report_metrics_of_pipeline() {
+      var operation = csv("Streaming/streaming.csv").into("with_listener")
+          .withBatchSize(100)
+          .withPipelineDepth(2)
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      Assertions.assertThat(metrics).singleElement().satisfies(m -> {
+        Assertions.assertThat(m.rowsInserted()).isEqualTo(1500);
+        Assertions.assertThat(m.batchesExecuted()).isEqualTo(15);
+        Assertions.assertThat(m.parseTime()).isPositive();
+      });
+    }
+
+    @Test
+    void record_flight_recorder_events(@TempDir Path dir) throws IOException {
+      var dump = dir.resolve("import.jfr");
+      try (var recording = new Recording()) {
+        recording.enable("com.sciencesakura.dbsetup.csv.Import");
+        recording.start();
+        var operation = csv("Streaming/streaming.csv").into("with_listener").build();
+        new DbSetup(destination, operation).launch();
+        recording.stop();
+        recording.dump(dump);
+      }
+      var events = RecordingFile.readAllEvents(dump);
+      Assertions.assertThat(events)
+          .extracting(e -> e.getString("table"), e -> e.getString("phase"), e -> e.getLong("rows"))
+          .containsExactly(
+              Assertions.tuple("with_listener", "parse", 1500L),
+              Assertions.tuple("with_listener", "insert", 1500L));
+    }
+
+    @Test
+    void throw_npe_if_listener_is_null() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(() -> builder.withListener(null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("listener must not be null");
+    }
+  }
+
+  @Nested
+  class BuildAsync {
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists build_async ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("build_async"))).launch();
+    }
+
+    @Test
+    void wait_for_reading_on_execution() {
+      var release = new CountDownLatch(1);
+      var started = new CountDownLatch(1);
+      Executor executor = task -> new Thread(() -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        task.run();
+      }).start();
+      var operation = csv("Streaming/streaming.csv").into("build_async").buildAsync(executor);
+      new Thread(() -> {
+        try {
+          started.await();
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        release.countDown();
+      }).start();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("build_async").build())
+          .hasNumberOfRows(1500);
+    }
+
+    @Test
+    void read_on_common_pool() {
+      var operation = csv("Streaming/streaming.csv").into("build_async").buildAsync();
+      new DbSetup(destination, operation).launch();
+      new DbSetup(destination, sequenceOf(truncate("build_async"), operation)).launch();
+      assertThat(connection.table("build_async").build())
+          .hasNumberOfRows(1500);
+    }
+
+    @Test
+    void throw_reading_error_on_execution() {
+      var operation = csv("Streaming/streaming.csv").into("build_async")
+          .withColumns("id", "unknown")
+          .buildAsync(Runnable::run);
+      assertThatThrownBy(() -> new DbSetup(destination, operation).launch())
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("column unknown is not found in the CSV file");
+    }
+
+    @Test
+    void throw_npe_if_executor_is_null() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(() -> builder.buildAsync(null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("executor must not be null");
+    }
+  }
+
+  @Nested
+  class IntoSchemas {
+
+    @BeforeEach
+    void setUp() {
+      var operations = new ArrayList<Operation>();
+      for (var schema : List.of("tenant_a", "tenant_b")) {
+        operations.add(sql("create schema if not exists " + schema));
+        operations.add(sql("create table if not exists " + schema + ".into_schemas ("
+            + "id integer primary key,"
+            + "name varchar(100)"
+            + ")"));
+        operations.add(truncate(schema + ".into_schemas"));
+      }
+      new DbSetup(destination, sequenceOf(operations)).launch();
+    }
+
+    void assertImported() {
+      for (var schema : List.of("tenant_a", "tenant_b")) {
+        assertThat(connection.table(schema + ".into_schemas").build())
+            .hasNumberOfRows(1500)
+            .row(1499)
+            .value("id").isEqualTo(1500)
+            .value("name").isEqualTo("name1500");
+      }
+    }
+
+    @Test
+    void import_rows_into_each_schema() {
+      var metrics = new ArrayList<ImportMetrics>();
+      var operation = csv("Streaming/streaming.csv").into("into_schemas")
+          .intoSchemas("tenant_a", "tenant_b")
+          .withBatchSize(1000)
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertImported();
+      Assertions.assertThat(metrics).singleElement().satisfies(m -> {
+        Assertions.assertThat(m.rowsParsed()).isEqualTo(1500);
+        Assertions.assertThat(m.rowsInserted()).isEqualTo(3000);
+        Assertions.assertThat(m.batchesExecuted()).isEqualTo(4);
+      });
+    }
+
+    @Test
+    void import_rows_into_each_schema_while_streaming() {
+      var operation = csv("Streaming/streaming.csv").into("into_schemas")
+          .intoSchemas("tenant_a")
+          .intoSchemas("tenant_b")
+          .withMultiRowValues(100)
+          .inferColumnTypes()
+          .streaming()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertImported();
+    }
+
+    @Test
+    void bulk_load_into_each_schema() throws URISyntaxException {
+      var file = Path.of(getClass().getClassLoader().getResource("Streaming/streaming.csv").toURI());
+      var operation = csv(file).into("into_schemas")
+          .intoSchemas("tenant_a", "tenant_b")
+          .bulkLoad()
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertImported();
+    }
+
+    @Test
+    void throw_iae_if_schemas_are_empty() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(builder::intoSchemas)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("schemas must not be empty");
+      assertThatThrownBy(() -> builder.intoSchemas("tenant_a", null))
+          .isInstanceOf(NullPointerException.class)
+          .hasMessage("schemas must not contain null");
+    }
+  }
+
+  @Nested
+  class SkipIfUnchanged {
+
+    final List<ImportMetrics> metrics = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists skip_if_unchanged ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("skip_if_unchanged"),
+          sql("drop table if exists dbsetup_csv_fingerprint"))).launch();
+    }
+
+    @Test
+    void skip_import_if_table_holds_same_rows() {
+      var operation = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("skip_if_unchanged").build())
+          .hasNumberOfRows(1500);
+      Assertions.assertThat(metrics)
+          .extracting(ImportMetrics::rowsInserted)
+          .containsExactly(1500L, 0L);
+    }
+
+    @Test
+    void skip_import_while_streaming() {
+      var first = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .build();
+      var second = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .streaming()
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, first).launch();
+      new DbSetup(destination, second).launch();
+      Assertions.assertThat(metrics)
+          .extracting(ImportMetrics::rowsInserted)
+          .containsExactly(0L);
+    }
+
+    @Test
+    void import_again_if_settings_changed() {
+      var first = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .limit(10)
+          .build();
+      var second = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .skip(10)
+          .limit(10)
+          .build();
+      new DbSetup(destination, first).launch();
+      new DbSetup(destination, second).launch();
+      assertThat(connection.table("skip_if_unchanged").build())
+          .hasNumberOfRows(20);
+    }
+
+    @Test
+    void import_again_if_rows_were_deleted() {
+      var operation = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .build();
+      new DbSetup(destination, operation).launch();
+      new DbSetup(destination, sequenceOf(truncate("skip_if_unchanged"), operation)).launch();
+      assertThat(connection.table("skip_if_unchanged").build())
+          .hasNumberOfRows(1500);
+    }
+
+    @Test
+    void keep_rows_inserted_before() {
+      var operation = csv("Streaming/streaming.csv").into("skip_if_unchanged")
+          .skipIfUnchanged()
+          .build();
+      new DbSetup(destination, sequenceOf(
+          sql("insert into skip_if_unchanged values (9999, 'other')"), operation)).launch();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("skip_if_unchanged").build())
+          .hasNumberOfRows(1501);
+    }
+
+    @Test
+    void apply_changes_if_file_changed(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("skip_if_unchanged.csv");
+      Files.writeString(file, "id,name\n1,Alice\n2,Bob\n");
+      var operation = csv(file).skipIfUnchanged().mergeBy("id").streaming().build();
+      new DbSetup(destination, operation).launch();
+      Files.writeString(file, "id,name\n3,Carol\n");
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("skip_if_unchanged").build())
+          .hasNumberOfRows(1)
+          .row(0)
+          .value("id").isEqualTo(3)
+          .value("name").isEqualTo("Carol");
+    }
+  }
+
+  @Nested
+  class MergeBy {
+
+    final List<ImportMetrics> metrics = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists merge_by ("
+          + "id integer primary key,"
+          + "name varchar(100),"
+          + "price decimal(10, 2)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("merge_by"),
+          sql("insert into merge_by values (1, 'Alice', 1.50), (2, 'Bob', 2.00), (3, 'Carol', 3.00)"))).launch();
+    }
+
+    @Test
+    void apply_only_differences(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("merge_by.csv");
+      Files.writeString(file, "id,name,price\n1,Alice,1.5\n2,Bobby,2.00\n4,Dave,4.00\n");
+      var operation = csv(file).mergeBy("id")
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("merge_by").build())
+          .hasNumberOfRows(3)
+          .column("id").containsValues(1, 2, 4)
+          .column("name").containsValues("Alice", "Bobby", "Dave");
+      Assertions.assertThat(metrics)
+          .extracting(ImportMetrics::rowsParsed, ImportMetrics::rowsInserted, ImportMetrics::rowsUpdated,
+              ImportMetrics::rowsDeleted)
+          .containsExactly(Assertions.tuple(3L, 1L, 1L, 1L));
+    }
+
+    @Test
+    void apply_only_differences_with_column_types(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("merge_by.csv");
+      Files.writeString(file, "id,name,price\n1,Alice,1.5\n2,Bob,2.5\n3,Carol,3\n");
+      var operation = csv(file).mergeBy("id")
+          .inferColumnTypes()
+          .streaming()
+          .withListener(metrics::add)
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("merge_by").build())
+          .hasNumberOfRows(3)
+          .row(1)
+          .value("price").isEqualTo(new BigDecimal("2.50"));
+      Assertions.assertThat(metrics)
+          .extracting(ImportMetrics::rowsInserted, ImportMetrics::rowsUpdated, ImportMetrics::rowsDeleted)
+          .containsExactly(Assertions.tuple(0L, 1L, 0L));
+    }
+
+    @Test
+    void throw_iae_if_key_column_not_in_csv(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("merge_by.csv");
+      Files.writeString(file, "id,name\n1,Alice\n");
+      var operation = csv(file).mergeBy("code").build();
+      var dbSetup = new DbSetup(destination, operation);
+      assertThatThrownBy(dbSetup::launch)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("column code is not found in the CSV file");
+    }
+
+    @Test
+    void throw_iae_if_key_is_duplicated(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("merge_by.csv");
+      Files.writeString(file, "id,name\n1,Alice\n1,Bob\n");
+      var operation = csv(file).mergeBy("id").build();
+      var dbSetup = new DbSetup(destination, operation);
+      assertThatThrownBy(dbSetup::launch)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("duplicate key [1] in the CSV file");
+    }
+
+    @Test
+    void throw_iae_if_key_columns_is_empty() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(builder::mergeBy)
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("keyColumns must not be empty");
+    }
+  }
+
+  @Nested
+  class CommitEvery {
+
+    final List<Long> committed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+      var ddl = sql("create table if not exists commit_every ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("commit_every"))).launch();
+    }
+
+    @Test
+    void commit_every_n_rows() {
+      var operation = csv("Streaming/streaming.csv").into("commit_every")
+          .withBatchSize(100)
+          .commitEvery(400, (table, rows) -> committed.add(rows))
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("commit_every").build())
+          .hasNumberOfRows(1500);
+      Assertions.assertThat(committed)
+          .containsExactly(400L, 800L, 1200L);
+    }
+
+    @Test
+    void commit_every_n_rows_while_streaming() {
+      var operation = csv("Streaming/streaming.csv").into("commit_every")
+          .streaming()
+          .commitEvery(500, (table, rows) -> committed.add(rows))
+          .build();
+      new DbSetup(destination, operation).launch();
+      assertThat(connection.table("commit_every").build())
+          .hasNumberOfRows(1500);
+      Assertions.assertThat(committed)
+          .containsExactly(500L, 1000L, 1500L);
+    }
+
+    @Test
+    void keep_committed_rows_on_failure(@TempDir Path dir) throws IOException {
+      var file = dir.resolve("commit_every.csv");
+      Files.writeString(file, "id,name\n1,Alice\n2,Bob\n3,Carol\n3,Dave\n");
+      var operation = csv(file).commitEvery(2).build();
+      var dbSetup = new DbSetup(destination, operation);
+      assertThatThrownBy(dbSetup::launch)
+          .isInstanceOf(DbSetupRuntimeException.class);
+      assertThat(connection.table("commit_every").build())
+          .hasNumberOfRows(2);
+    }
+
+    @Test
+    void throw_iae_if_rows_is_0() {
+      var builder = csv("Streaming/streaming.csv");
+      assertThatThrownBy(() -> builder.commitEvery(0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("rows must be greater than 0");
+    }
+  }
 }
@@ -0,0 +1,103 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.sciencesakura.dbsetup.csv.SimpleCsvReaderTest.format;
+import static com.sciencesakura.dbsetup.csv.SimpleCsvReaderTest.read;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@NullUnmarked
+class ParallelCsvParserTest {
+
+  @TempDir
+  Path dir;
+
+  Path write(String header, int rows, String lineBreak, Charset charset) throws IOException {
+    var csv = new StringBuilder(header).append(lineBreak);
+    for (var i = 0; i < rows; i++) {
+      csv.append(i).append(", name-").append(i).append(" ,");
+      if (i % 7 != 0) {
+        csv.append("ｍｅｍｏ").append(i);
+      }
+      csv.append(lineBreak);
+      if (i % 1000 == 0) {
+        csv.append(lineBreak);
+      }
+    }
+    var file = dir.resolve("large.csv");
+    Files.writeString(file, csv, charset);
+    return file;
+  }
+
+  static List<String> toStrings(RowSet rows) {
+    var lines = new ArrayList<String>();
+    lines.add(rows.columns().toString());
+    rows.values().forEach(row -> lines.add(Arrays.toString(row)));
+    return lines;
+  }
+
+  static List<String> readSerially(Path file, Charset charset, CSVFormat format) throws IOException {
+    return read(new SimpleCsvReader(Files.newInputStream(file), charset, format));
+  }
+
+  @Test
+  void parse_in_order() throws IOException {
+    for (var lineBreak : List.of("\n", "\r\n")) {
+      var file = write("id,name,memo", 200_000, lineBreak, StandardCharsets.UTF_8);
+      var format = format(',', "");
+      var rows = ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_8, format, true);
+      assertThat(rows).isNotNull();
+      assertThat(toStrings(rows)).isEqualTo(readSerially(file, StandardCharsets.UTF_8, format));
+    }
+  }
+
+  @Test
+  void parse_explicit_headers() throws IOException {
+    var file = write("0,header-like,row", 200_000, "\n", StandardCharsets.UTF_8);
+    var format = format(',', "", "id", "name", "memo");
+    var rows = ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_8, format, true);
+    assertThat(rows).isNotNull();
+    assertThat(toStrings(rows)).isEqualTo(readSerially(file, StandardCharsets.UTF_8, format));
+  }
+
+  @Test
+  void parse_out_of_order() throws IOException {
+    var file = write("id,name,memo", 200_000, "\n", StandardCharsets.UTF_8);
+    var format = format(',', "");
+    var rows = ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_8, format, false);
+    assertThat(rows).isNotNull();
+    assertThat(toStrings(rows)).containsExactlyInAnyOrderElementsOf(
+        readSerially(file, StandardCharsets.UTF_8, format));
+  }
+
+  @Test
+  void return_null_if_quoted() throws IOException {
+    var file = write("id,name,\"memo\"", 200_000, "\n", StandardCharsets.UTF_8);
+    assertThat(ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_8, format(',', ""), true)).isNull();
+  }
+
+  @Test
+  void return_null_if_small() throws IOException {
+    var file = write("id,name,memo", 10, "\n", StandardCharsets.UTF_8);
+    assertThat(ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_8, format(',', ""), true)).isNull();
+  }
+
+  @Test
+  void return_null_if_line_feed_is_not_single_byte() throws IOException {
+    var file = write("id,name,memo", 200_000, "\n", StandardCharsets.UTF_16);
+    assertThat(ParallelCsvParser.parse(Source.of(file), StandardCharsets.UTF_16, format(',', ""), true)).isNull();
+  }
+}
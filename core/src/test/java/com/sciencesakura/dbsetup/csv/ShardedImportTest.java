@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static com.ninja_squad.dbsetup.Operations.sequenceOf;
+import static com.ninja_squad.dbsetup.Operations.sql;
+import static com.ninja_squad.dbsetup.Operations.truncate;
+import static com.sciencesakura.dbsetup.csv.Import.csv;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.db.api.Assertions.assertThat;
+
+import com.ninja_squad.dbsetup.DbSetup;
+import com.ninja_squad.dbsetup.destination.Destination;
+import com.ninja_squad.dbsetup.destination.DriverManagerDestination;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.db.type.AssertDbConnection;
+import org.assertj.db.type.AssertDbConnectionFactory;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class ShardedImportTest {
+
+  final List<AssertDbConnection> connections = new ArrayList<>();
+
+  final List<Destination> destinations = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (var i = 0; i < 3; i++) {
+      var url = "jdbc:h2:mem:shard" + i + ";DB_CLOSE_DELAY=-1";
+      connections.add(AssertDbConnectionFactory.of(url, "sa", null).create());
+      var destination = new DriverManagerDestination(url, "sa", null);
+      destinations.add(destination);
+      var ddl = sql("create table if not exists sharded ("
+          + "id integer primary key,"
+          + "name varchar(100)"
+          + ")");
+      new DbSetup(destination, sequenceOf(ddl, truncate("sharded"))).launch();
+    }
+  }
+
+  @Test
+  void route_rows_by_hash_of_key() {
+    var importer = ShardedImport.to(destinations).shardBy("id").build();
+    importer.launch(csv("Streaming/streaming.csv").into("sharded")
+        .withColumnType("id", Integer.class)
+        .withBatchSize(100)
+        .build());
+    for (var i = 0; i < 3; i++) {
+      assertThat(connections.get(i).table("sharded").build())
+          .hasNumberOfRows(500)
+          .row(0)
+          .value("id").isEqualTo(i == 0 ? 3 : i)
+          .value("name").isEqualTo(i == 0 ? "name3" : "name" + i);
+    }
+  }
+
+  @Test
+  void route_rows_with_function() {
+    var importer = ShardedImport.to(destinations.get(0), destinations.get(1))
+        .shardBy("id", value -> Integer.parseInt((String) value) <= 1000 ? 0 : 1)
+        .build();
+    importer.launch(csv("Streaming/streaming.csv").into("sharded").build());
+    assertThat(connections.get(0).table("sharded").build())
+        .hasNumberOfRows(1000);
+    assertThat(connections.get(1).table("sharded").build())
+        .hasNumberOfRows(500);
+    assertThat(connections.get(2).table("sharded").build())
+        .hasNumberOfRows(0);
+  }
+
+  @Test
+  void roll_back_all_shards_on_failure() {
+    new DbSetup(destinations.get(0), sql("insert into sharded (id, name) values (3, 'conflict')")).launch();
+    var importer = ShardedImport.to(destinations).shardBy("id").build();
+    var operation = csv("Streaming/streaming.csv").into("sharded")
+        .withColumnType("id", Integer.class)
+        .build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(RuntimeException.class);
+    assertThat(connections.get(0).table("sharded").build())
+        .hasNumberOfRows(1);
+    assertThat(connections.get(1).table("sharded").build())
+        .hasNumberOfRows(0);
+    assertThat(connections.get(2).table("sharded").build())
+        .hasNumberOfRows(0);
+  }
+
+  @Test
+  void throw_iae_if_key_column_is_not_found() {
+    var importer = ShardedImport.to(destinations).shardBy("unknown").build();
+    var operation = csv("Streaming/streaming.csv").into("sharded").build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("column unknown is not found in the CSV file");
+  }
+
+  @Test
+  void throw_iae_if_rows_are_read_on_execution() {
+    var importer = ShardedImport.to(destinations).shardBy("id").build();
+    var operation = csv("Streaming/streaming.csv").into("sharded").streaming().build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("operation must read the rows when it is built");
+  }
+
+  @Test
+  void throw_iae_if_operation_merges_rows() {
+    var importer = ShardedImport.to(destinations).shardBy("id").build();
+    var operation = csv("Streaming/streaming.csv").into("sharded").mergeBy("id").build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("operation must not merge the rows");
+  }
+
+  @Test
+  void throw_iae_if_operation_commits_at_interval() {
+    var importer = ShardedImport.to(destinations).shardBy("id").build();
+    var operation = csv("Streaming/streaming.csv").into("sharded").commitEvery(10).build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("operation must not commit the rows at an interval");
+  }
+
+  @Test
+  void throw_ise_if_router_returns_index_out_of_range() {
+    var importer = ShardedImport.to(destinations).shardBy("id", value -> 3).build();
+    var operation = csv("Streaming/streaming.csv").into("sharded").build();
+    assertThatThrownBy(() -> importer.launch(operation))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("shard 3 is out of range: 3 shards");
+  }
+
+  @Test
+  void throw_exception_if_builder_is_invalid() {
+    assertThatThrownBy(() -> ShardedImport.to(List.of()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("destinations must not be empty");
+    assertThatThrownBy(() -> ShardedImport.to(destinations.get(0), null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("destinations must not contain null");
+    assertThatThrownBy(() -> ShardedImport.to(destinations).build())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("shard key column must be specified");
+  }
+}
@@ -0,0 +1,129 @@
+// SPDX-License-Identifier: MIT
+
+package com.sciencesakura.dbsetup.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.jspecify.annotations.NullUnmarked;
+import org.junit.jupiter.api.Test;
+
+@NullUnmarked
+class SimpleCsvReaderTest {
+
+  static CSVFormat format(char delimiter, String nullString, String... headers) {
+    var builder = CSVFormat.Builder.create(CSVFormat.DEFAULT)
+        .setDelimiter(delimiter)
+        .setNullString(nullString)
+        .setQuote('"')
+        .setTrim(true);
+    if (headers.length == 0) {
+      builder.setHeader().setSkipHeaderRecord(true);
+    } else {
+      builder.setHeader(headers);
+    }
+    return builder.get();
+  }
+
+  static List<String> read(RowReader reader) throws IOException {
+    try (reader) {
+      var headers = reader.headers();
+      var layout = new RowLayout(headers, List.of(), Set.of(), Map.of(), Map.of());
+      var rows = new ArrayList<String>();
+      rows.add(headers.toString());
+      reader.rows(RowSelection.ALL, layout).forEach(row -> rows.add(Arrays.toString(row)));
+      return rows;
+    }
+  }
+
+  static void assertSameAsCommons(String csv, CSVFormat format) throws IOException {
+    var bytes = csv.getBytes(StandardCharsets.UTF_8);
+    var expected = read(RowReader.of(CSVParser.parse(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8,
+        format)));
+    var actual = read(new SimpleCsvReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, format));
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  void read_simple_lines() throws IOException {
+    assertSameAsCommons("id,name\n1,Alice\n2,Bob\n", format(',', ""));
+    assertSameAsCommons("id,name\r\n1,Alice\r\n2,Bob", format(',', ""));
+    assertSameAsCommons("id,name\r1,Alice\r\r2,Bob\r", format(',', ""));
+    assertSameAsCommons("\n\nid,name\n\n1,Alice\n\n", format(',', ""));
+    assertSameAsCommons("", format(',', ""));
+  }
+
+  @Test
+  void trim_values_and_read_null_string() throws IOException {
+    assertSameAsCommons("id , name ,memo\n 1 ,, \n2,NULL,x\n  ,\t,  \n", format(',', ""));
+    assertSameAsCommons("id\tname\n1\t NULL \n2\t\n", format('\t', "NULL"));
+  }
+
+  @Test
+  void read_explicit_headers() throws IOException {
+    assertSameAsCommons("1,Alice\n2,Bob\n", format(',', "", "id", "name"));
+  }
+
+  @Test
+  void fall_back_to_commons_csv_if_quoted() throws IOException {
+    assertSameAsCommons("id,name\n1,Alice\n2,\"Bob, Jr.\"\n3,\"multi\nline\"\n4,Dave\n", format(',', ""));
+    assertSameAsCommons("\"id\",name\n1,Alice\n", format(',', ""));
+    assertSameAsCommons("1,\"Alice\"\n2,Bob\n", format(',', "", "id", "name"));
+  }
+
+  @Test
+  void fail_like_commons_csv_if_header_name_is_missing() {
+    var bytes = "id,\n1,Alice\n".getBytes(StandardCharsets.UTF_8);
+    assertThatThrownBy(() -> new SimpleCsvReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8,
+        format(',', "")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("A header name is missing");
+  }
+
+  @Test
+  void read_lines_across_buffers() throws IOException {
+    var csv = new StringBuilder("id,name\r\n");
+    for (var i = 0; i < 20000; i++) {
+      csv.append(i).append(",name").append(i).append("\r\n");
+    }
+    csv.append("20000,").append("x".repeat(200000)).append('\n');
+    csv.append("20001,\"quoted\"\n");
+    assertSameAsCommons(csv.toString(), format(',', ""));
+  }
+
+  @Test
+  void never_materialize_skipped_lines() throws IOException {
+    var bytes = "id,name\n1,Alice\n2,Bob\n3,Carol\n4,Dave\n".getBytes(StandardCharsets.UTF_8);
+    try (var reader = new SimpleCsvReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, format(',', ""))) {
+      var layout = new RowLayout(reader.headers(), List.of(), Set.of(), Map.of(), Map.of());
+      var headerValues = reader.valuesRead();
+      var rows = new ArrayList<Object[]>();
+      reader.rows(new RowSelection(2, 1, 1.0, 0, null), layout).forEach(rows::add);
+      assertThat(rows).containsExactly(new Object[] {"3", "Carol"});
+      assertThat(reader.valuesRead() - headerValues).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void never_materialize_excluded_columns() throws IOException {
+    var bytes = "id,name,memo\n1,Alice,a\n2,Bob,b\n".getBytes(StandardCharsets.UTF_8);
+    try (var reader = new SimpleCsvReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, format(',', ""))) {
+      var layout = new RowLayout(reader.headers(), List.of(), Set.of("memo"), Map.of(), Map.of());
+      var headerValues = reader.valuesRead();
+      var rows = new ArrayList<Object[]>();
+      reader.rows(RowSelection.ALL, layout).forEach(rows::add);
+      assertThat(rows).containsExactly(new Object[] {"1", "Alice"}, new Object[] {"2", "Bob"});
+      assertThat(reader.valuesRead() - headerValues).isEqualTo(4);
+    }
+  }
+}
@@ -3,6 +3,7 @@
 package com.sciencesakura.dbsetup.csv
 
 import com.ninja_squad.dbsetup_kotlin.DbSetupBuilder
+import java.nio.file.Path
 
 /**
  * Creates a CSV import operation.
@@ -55,3 +56,55 @@ fun DbSetupBuilder.tsv(
   builder.configure()
   this.execute(builder.build())
 }
+
+/**
+ * Creates a CSV import operation which reads the CSV file from the file system.
+ *
+ * @param path the path to the CSV file
+ * @throws IllegalArgumentException if the CSV file is not found
+ */
+fun DbSetupBuilder.csv(path: Path) {
+  this.execute(Import.csv(path).build())
+}
+
+/**
+ * Creates a CSV import operation which reads the CSV file from the file system.
+ *
+ * @param path the path to the CSV file
+ * @param configure A lambda to configure the import operation
+ * @throws IllegalArgumentException if the CSV file is not found
+ */
+fun DbSetupBuilder.csv(
+  path: Path,
+  configure: Import.Builder.() -> Unit,
+) {
+  val builder = Import.csv(path)
+  builder.configure()
+  this.execute(builder.build())
+}
+
+/**
+ * Creates a TSV import operation which reads the TSV file from the file system.
+ *
+ * @param path the path to the TSV file
+ * @throws IllegalArgumentException if the TSV file is not found
+ */
+fun DbSetupBuilder.tsv(path: Path) {
+  this.execute(Import.tsv(path).build())
+}
+
+/**
+ * Creates a TSV import operation which reads the TSV file from the file system.
+ *
+ * @param path the path to the TSV file
+ * @param configure A lambda to configure the import operation
+ * @throws IllegalArgumentException if the TSV file is not found
+ */
+fun DbSetupBuilder.tsv(
+  path: Path,
+  configure: Import.Builder.() -> Unit,
+) {
+  val builder = Import.tsv(path)
+  builder.configure()
+  this.execute(builder.build())
+}
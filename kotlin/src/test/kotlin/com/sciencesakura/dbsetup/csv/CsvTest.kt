@@ -8,6 +8,7 @@ import com.ninja_squad.dbsetup_kotlin.dbSetup
 import org.assertj.db.api.Assertions.assertThat
 import org.assertj.db.type.AssertDbConnectionFactory
 import org.assertj.db.type.Changes
+import java.nio.file.Path
 import kotlin.test.BeforeTest
 import kotlin.test.Test
 
@@ -99,4 +100,38 @@ class CsvTest {
       .value("id").isEqualTo(1)
       .value("name").isEqualTo("foo")
   }
+
+  @Test
+  fun import_csv_from_path() {
+    val path = Path.of(javaClass.classLoader.getResource("kt_test.csv")!!.toURI())
+    changes.setStartPointNow()
+    dbSetup(destination) {
+      csv(path)
+    }.launch()
+    @Suppress("ktlint:standard:chain-method-continuation")
+    assertThat(changes.setEndPointNow())
+      .hasNumberOfChanges(1)
+      .changeOfCreation()
+      .rowAtEndPoint()
+      .value("id").isEqualTo(1)
+      .value("name").isEqualTo("foo")
+  }
+
+  @Test
+  fun import_tsv_from_path_with_configure() {
+    val path = Path.of(javaClass.classLoader.getResource("kt_test.tsv")!!.toURI())
+    changes.setStartPointNow()
+    dbSetup(destination) {
+      tsv(path) {
+        into("kt_test")
+      }
+    }.launch()
+    @Suppress("ktlint:standard:chain-method-continuation")
+    assertThat(changes.setEndPointNow())
+      .hasNumberOfChanges(1)
+      .changeOfCreation()
+      .rowAtEndPoint()
+      .value("id").isEqualTo(2)
+      .value("name").isEqualTo("bar")
+  }
 }